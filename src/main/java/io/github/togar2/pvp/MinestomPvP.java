@@ -1,6 +1,7 @@
 package io.github.togar2.pvp;
 
 import io.github.togar2.pvp.enchantment.CombatEnchantments;
+import io.github.togar2.pvp.entity.EntityTypeTraits;
 import io.github.togar2.pvp.feature.CombatFeatures;
 import io.github.togar2.pvp.feature.config.CombatFeatureRegistry;
 import io.github.togar2.pvp.player.CombatPlayer;
@@ -8,6 +9,7 @@ import io.github.togar2.pvp.player.CombatPlayerImpl;
 import io.github.togar2.pvp.potion.effect.CombatPotionEffects;
 import io.github.togar2.pvp.potion.item.CombatPotionTypes;
 import io.github.togar2.pvp.utils.AccurateLatencyListener;
+import io.github.togar2.pvp.utils.BlockTraits;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.attribute.Attribute;
@@ -78,6 +80,8 @@ public class MinestomPvP {
 		CombatEnchantments.registerAll();
 		CombatPotionEffects.registerAll();
 		CombatPotionTypes.registerAll();
+		EntityTypeTraits.init();
+		BlockTraits.init();
 		
 		CombatFeatureRegistry.init();
 		
@@ -1,13 +1,20 @@
 package io.github.togar2.pvp.damage;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.entity.damage.DamageType;
 import net.minestom.server.registry.DynamicRegistry;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public record DamageTypeInfo(boolean damagesHelmet, boolean bypassesArmor, boolean outOfWorld,
                              boolean unblockable, boolean fire, ScaleWithDifficulty scaleWithDifficulty,
@@ -23,54 +30,210 @@ public record DamageTypeInfo(boolean damagesHelmet, boolean bypassesArmor, boole
 		);
 	}
 
+	private static volatile Table table;
+
 	public static DamageTypeInfo of(DynamicRegistry.Key<DamageType> type) {
+		// Identity lookup first, damage types are almost always the constants of DamageType or the registry keys
+		Table table = table();
+		DamageTypeInfo info = table.byKey.get(type);
+		if (info != null) return info;
+
+		// Another instance of the key, look it up by its registry id instead
+		int id = MinecraftServer.getDamageTypeRegistry().getId(type);
+		if (id >= 0) {
+			// Registered after the table was built
+			if (id >= table.byId.length) table = rebuild();
+			if (id < table.byId.length) return table.byId[id];
+		}
+
 		return INFO_MAP.getOrDefault(type, DEFAULT);
 	}
 
-	//TODO check source and add missing
-	public static final Map<DynamicRegistry.Key<DamageType>, DamageTypeInfo> INFO_MAP = new HashMap<>() {
-		{
-			put(DamageType.IN_FIRE, new DamageTypeInfo().bypassesArmor(true).fire(true));
-			put(DamageType.ON_FIRE, new DamageTypeInfo().bypassesArmor(true).fire(true));
-			put(DamageType.LAVA, new DamageTypeInfo().fire(true));
-			put(DamageType.HOT_FLOOR, new DamageTypeInfo().fire(true));
-			put(DamageType.IN_WALL, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.CRAMMING, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.DROWN, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.STARVE, new DamageTypeInfo().bypassesArmor(true).unblockable(true));
-			put(DamageType.FALL, new DamageTypeInfo().bypassesArmor(true).fall(true));
-			put(DamageType.FLY_INTO_WALL, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.OUT_OF_WORLD, new DamageTypeInfo().bypassesArmor(true).outOfWorld(true));
-			put(DamageType.GENERIC, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.GENERIC_KILL, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.MAGIC, new DamageTypeInfo().bypassesArmor(true).magic(true));
-			put(DamageType.INDIRECT_MAGIC, new DamageTypeInfo().bypassesArmor(true).magic(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.WITHER, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.FALLING_ANVIL, new DamageTypeInfo().damagesHelmet(true));
-			put(DamageType.FALLING_BLOCK, new DamageTypeInfo().damagesHelmet(true));
-			put(DamageType.DRAGON_BREATH, new DamageTypeInfo().bypassesArmor(true));
-			put(DamageType.FREEZE, new DamageTypeInfo().freeze(true).bypassesArmor(true));
-			put(DamageType.FALLING_STALACTITE, new DamageTypeInfo().damagesHelmet(true));
-			put(DamageType.STALAGMITE, new DamageTypeInfo().bypassesArmor(true).fall(true));
-			put(DamageType.THORNS, new DamageTypeInfo().magic(true).thorns(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.EXPLOSION, new DamageTypeInfo().scale(ScaleWithDifficulty.ALWAYS).explosive(true));
-			put(DamageType.PLAYER_EXPLOSION, new DamageTypeInfo().scale(ScaleWithDifficulty.ALWAYS).explosive(true));
-			put(DamageType.BAD_RESPAWN_POINT, new DamageTypeInfo().scale(ScaleWithDifficulty.ALWAYS).explosive(true));
-			put(DamageType.FIREBALL, new DamageTypeInfo().projectile(true).fire(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.UNATTRIBUTED_FIREBALL, new DamageTypeInfo().projectile(true).fire(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.ARROW, new DamageTypeInfo().projectile(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.WITHER_SKULL, new DamageTypeInfo().projectile(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.THROWN, new DamageTypeInfo().projectile(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.STING, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.MOB_ATTACK, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.MOB_PROJECTILE, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.PLAYER_ATTACK, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.TRIDENT, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.FIREWORKS, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.SONIC_BOOM, new DamageTypeInfo().bypassesArmor(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
-			put(DamageType.OUTSIDE_BORDER, new DamageTypeInfo().bypassesArmor(true));
+	public static DamageTypeInfo of(DamageType type) {
+		Table table = table();
+		DamageTypeInfo info = table.byType.get(type);
+		if (info != null) return info;
+
+		// Damage type instance not (yet) known to the table, go through the registry
+		DynamicRegistry.Key<DamageType> key = MinecraftServer.getDamageTypeRegistry().getKey(type);
+		return key == null ? DEFAULT : of(key);
+	}
+
+	/**
+	 * Clears the compiled lookup table, it will be rebuilt when it is used next.
+	 * This happens automatically when {@link #INFO_MAP} is modified or when a damage type is registered,
+	 * but has to be called manually after damage types have been removed from the registry.
+	 */
+	public static void invalidate() {
+		table = null;
+	}
+
+	private static Table table() {
+		Table table = DamageTypeInfo.table;
+		return table == null ? rebuild() : table;
+	}
+
+	private static synchronized Table rebuild() {
+		Table table = new Table(MinecraftServer.getDamageTypeRegistry());
+		DamageTypeInfo.table = table;
+		return table;
+	}
+
+	/**
+	 * Lookup table compiled from {@link #INFO_MAP} and the damage type registry when it was built.
+	 * The keys and damage types are looked up by identity, so looking up an info does not have to hash the key,
+	 * other instances of a key are looked up by their registry id.
+	 */
+	private static final class Table {
+		private final DamageTypeInfo[] byId;
+		private final Map<DynamicRegistry.Key<DamageType>, DamageTypeInfo> byKey = new IdentityHashMap<>();
+		private final Map<DamageType, DamageTypeInfo> byType = new IdentityHashMap<>();
+
+		private Table(DynamicRegistry<DamageType> registry) {
+			List<DamageType> values = registry.values();
+			this.byId = new DamageTypeInfo[values.size()];
+
+			byKey.putAll(INFO_MAP);
+			for (int id = 0; id < byId.length; id++) {
+				DynamicRegistry.Key<DamageType> key = registry.getKey(id);
+				DamageTypeInfo info = key == null ? DEFAULT : INFO_MAP.getOrDefault(key, DEFAULT);
+
+				byId[id] = info;
+				if (key != null) byKey.put(key, info);
+				byType.put(values.get(id), info);
+			}
+		}
+	}
+
+	/**
+	 * Map which invalidates the compiled lookup table whenever it is modified,
+	 * also through its views and the default methods of {@link Map}.
+	 */
+	private static final class InfoMap extends AbstractMap<DynamicRegistry.Key<DamageType>, DamageTypeInfo> {
+		private final Map<DynamicRegistry.Key<DamageType>, DamageTypeInfo> map = new HashMap<>();
+		private final Set<Entry<DynamicRegistry.Key<DamageType>, DamageTypeInfo>> entrySet = new AbstractSet<>() {
+			@Override
+			public Iterator<Entry<DynamicRegistry.Key<DamageType>, DamageTypeInfo>> iterator() {
+				Iterator<Entry<DynamicRegistry.Key<DamageType>, DamageTypeInfo>> iterator = map.entrySet().iterator();
+				return new Iterator<>() {
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public Entry<DynamicRegistry.Key<DamageType>, DamageTypeInfo> next() {
+						Entry<DynamicRegistry.Key<DamageType>, DamageTypeInfo> entry = iterator.next();
+						return new SimpleEntry<>(entry) {
+							@Override
+							public DamageTypeInfo setValue(DamageTypeInfo value) {
+								super.setValue(value);
+								DamageTypeInfo previous = entry.setValue(value);
+								invalidate();
+								return previous;
+							}
+						};
+					}
+
+					@Override
+					public void remove() {
+						iterator.remove();
+						invalidate();
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return map.size();
+			}
+		};
+
+		@Override
+		public Set<Entry<DynamicRegistry.Key<DamageType>, DamageTypeInfo>> entrySet() {
+			return entrySet;
+		}
+
+		@Override
+		public int size() {
+			return map.size();
 		}
-	};
+
+		@Override
+		public boolean containsKey(Object key) {
+			return map.containsKey(key);
+		}
+
+		@Override
+		public DamageTypeInfo get(Object key) {
+			return map.get(key);
+		}
+
+		@Override
+		public DamageTypeInfo put(DynamicRegistry.Key<DamageType> key, DamageTypeInfo value) {
+			DamageTypeInfo previous = map.put(key, value);
+			invalidate();
+			return previous;
+		}
+
+		@Override
+		public DamageTypeInfo remove(Object key) {
+			DamageTypeInfo previous = map.remove(key);
+			invalidate();
+			return previous;
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+			invalidate();
+		}
+	}
+
+	//TODO check source and add missing
+	public static final Map<DynamicRegistry.Key<DamageType>, DamageTypeInfo> INFO_MAP = new InfoMap();
+
+	static {
+		INFO_MAP.put(DamageType.IN_FIRE, new DamageTypeInfo().bypassesArmor(true).fire(true));
+		INFO_MAP.put(DamageType.ON_FIRE, new DamageTypeInfo().bypassesArmor(true).fire(true));
+		INFO_MAP.put(DamageType.LAVA, new DamageTypeInfo().fire(true));
+		INFO_MAP.put(DamageType.HOT_FLOOR, new DamageTypeInfo().fire(true));
+		INFO_MAP.put(DamageType.IN_WALL, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.CRAMMING, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.DROWN, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.STARVE, new DamageTypeInfo().bypassesArmor(true).unblockable(true));
+		INFO_MAP.put(DamageType.FALL, new DamageTypeInfo().bypassesArmor(true).fall(true));
+		INFO_MAP.put(DamageType.FLY_INTO_WALL, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.OUT_OF_WORLD, new DamageTypeInfo().bypassesArmor(true).outOfWorld(true));
+		INFO_MAP.put(DamageType.GENERIC, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.GENERIC_KILL, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.MAGIC, new DamageTypeInfo().bypassesArmor(true).magic(true));
+		INFO_MAP.put(DamageType.INDIRECT_MAGIC, new DamageTypeInfo().bypassesArmor(true).magic(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.WITHER, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.FALLING_ANVIL, new DamageTypeInfo().damagesHelmet(true));
+		INFO_MAP.put(DamageType.FALLING_BLOCK, new DamageTypeInfo().damagesHelmet(true));
+		INFO_MAP.put(DamageType.DRAGON_BREATH, new DamageTypeInfo().bypassesArmor(true));
+		INFO_MAP.put(DamageType.FREEZE, new DamageTypeInfo().freeze(true).bypassesArmor(true));
+		INFO_MAP.put(DamageType.FALLING_STALACTITE, new DamageTypeInfo().damagesHelmet(true));
+		INFO_MAP.put(DamageType.STALAGMITE, new DamageTypeInfo().bypassesArmor(true).fall(true));
+		INFO_MAP.put(DamageType.THORNS, new DamageTypeInfo().magic(true).thorns(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.EXPLOSION, new DamageTypeInfo().scale(ScaleWithDifficulty.ALWAYS).explosive(true));
+		INFO_MAP.put(DamageType.PLAYER_EXPLOSION, new DamageTypeInfo().scale(ScaleWithDifficulty.ALWAYS).explosive(true));
+		INFO_MAP.put(DamageType.BAD_RESPAWN_POINT, new DamageTypeInfo().scale(ScaleWithDifficulty.ALWAYS).explosive(true));
+		INFO_MAP.put(DamageType.FIREBALL, new DamageTypeInfo().projectile(true).fire(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.UNATTRIBUTED_FIREBALL, new DamageTypeInfo().projectile(true).fire(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.ARROW, new DamageTypeInfo().projectile(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.WITHER_SKULL, new DamageTypeInfo().projectile(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.THROWN, new DamageTypeInfo().projectile(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.STING, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.MOB_ATTACK, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.MOB_PROJECTILE, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.PLAYER_ATTACK, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.TRIDENT, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.FIREWORKS, new DamageTypeInfo().scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.SONIC_BOOM, new DamageTypeInfo().bypassesArmor(true).scale(ScaleWithDifficulty.WHEN_CAUSED_BY_LIVING_NON_PLAYER));
+		INFO_MAP.put(DamageType.OUTSIDE_BORDER, new DamageTypeInfo().bypassesArmor(true));
+	}
 
 	public DamageTypeInfo damagesHelmet(boolean damagesHelmet) {
 		return new DamageTypeInfo(
@@ -3,6 +3,7 @@ package io.github.togar2.pvp.damage.combat;
 import io.github.togar2.pvp.damage.DamageTypeInfo;
 import io.github.togar2.pvp.feature.fall.FallFeature;
 import io.github.togar2.pvp.feature.state.PlayerStateFeature;
+import io.github.togar2.pvp.utils.BlockTraits;
 import io.github.togar2.pvp.utils.EntityUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.ClickEvent;
@@ -51,27 +52,24 @@ public class CombatManager {
 			return null;
 		}
 		
-		if (lastClimbedBlock.compare(Block.LADDER) || lastClimbedBlock.compare(Block.ACACIA_TRAPDOOR)
-				|| lastClimbedBlock.compare(Block.BIRCH_TRAPDOOR) || lastClimbedBlock.compare(Block.CRIMSON_TRAPDOOR)
-				|| lastClimbedBlock.compare(Block.IRON_TRAPDOOR) || lastClimbedBlock.compare(Block.DARK_OAK_TRAPDOOR)
-				|| lastClimbedBlock.compare(Block.JUNGLE_TRAPDOOR) || lastClimbedBlock.compare(Block.OAK_TRAPDOOR)
-				|| lastClimbedBlock.compare(Block.SPRUCE_TRAPDOOR) || lastClimbedBlock.compare(Block.WARPED_TRAPDOOR)) {
+		int traits = BlockTraits.get(lastClimbedBlock);
+		if ((traits & BlockTraits.LADDER) != 0) {
 			return "ladder";
 		}
 		
-		if (lastClimbedBlock.compare(Block.VINE)) {
+		if ((traits & BlockTraits.VINES) != 0) {
 			return "vines";
 		}
 		
-		if (lastClimbedBlock.compare(Block.WEEPING_VINES) || lastClimbedBlock.compare(Block.WEEPING_VINES_PLANT)) {
+		if ((traits & BlockTraits.WEEPING_VINES) != 0) {
 			return "weeping_vines";
 		}
 		
-		if (lastClimbedBlock.compare(Block.TWISTING_VINES) || lastClimbedBlock.compare(Block.TWISTING_VINES_PLANT)) {
+		if ((traits & BlockTraits.TWISTING_VINES) != 0) {
 			return "twisting_vines";
 		}
 		
-		if (lastClimbedBlock.compare(Block.SCAFFOLDING)) {
+		if ((traits & BlockTraits.SCAFFOLDING) != 0) {
 			return "scaffolding";
 		}
 		
@@ -249,6 +247,16 @@ public class CombatManager {
 		return inCombat ? System.currentTimeMillis() - combatStartTime : combatEndTime - combatStartTime;
 	}
 	
+	/**
+	 * Checks whether {@link #tick()} has anything to do, which is only the case while the player is taking damage
+	 * or has recently been damaged by an entity.
+	 *
+	 * @return true if the combat manager needs to be ticked
+	 */
+	public boolean needsTick() {
+		return takingDamage || lastDamagedBy != -1;
+	}
+	
 	public void tick() {
 		if (player.isDead() || player.getAliveTicks() % 20 == 0)
 			recheckStatus();
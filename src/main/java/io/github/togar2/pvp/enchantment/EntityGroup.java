@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.enchantment;
 
+import io.github.togar2.pvp.entity.EntityTypeTraits;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.LivingEntity;
 
@@ -10,19 +11,18 @@ public enum EntityGroup {
 	ILLAGER,
 	AQUATIC;
 	
+	/**
+	 * Gets the entity group of an entity, see {@link EntityTypeTraits} for changing the group of an entity type.
+	 *
+	 * @param entity the entity
+	 * @return the group of the entity
+	 */
 	public static EntityGroup ofEntity(LivingEntity entity) {
-		EntityType entityType = entity.getEntityType();
-		if (entityType == EntityType.BEE || entityType == EntityType.CAVE_SPIDER || entityType == EntityType.ENDERMITE || entityType == EntityType.SILVERFISH || entityType == EntityType.SPIDER) {
-			return EntityGroup.ARTHROPOD;
-		} else if (entityType == EntityType.COD || entityType == EntityType.DOLPHIN || entityType == EntityType.ELDER_GUARDIAN || entityType == EntityType.GUARDIAN || entityType == EntityType.PUFFERFISH || entityType == EntityType.SALMON || entityType == EntityType.SQUID || entityType == EntityType.TROPICAL_FISH || entityType == EntityType.TURTLE) {
-			return EntityGroup.AQUATIC;
-		} else if (EntityType.DROWNED == entityType || EntityType.HUSK == entityType || EntityType.PHANTOM == entityType || EntityType.SKELETON == entityType || EntityType.SKELETON_HORSE == entityType || EntityType.STRAY == entityType || EntityType.WITHER == entityType || EntityType.WITHER_SKELETON == entityType || EntityType.ZOGLIN == entityType || EntityType.ZOMBIE == entityType || EntityType.ZOMBIE_HORSE == entityType || EntityType.ZOMBIE_VILLAGER == entityType || EntityType.ZOMBIFIED_PIGLIN == entityType) {
-			return EntityGroup.UNDEAD;
-		} else if (EntityType.EVOKER == entityType || EntityType.ILLUSIONER == entityType || EntityType.PILLAGER == entityType || EntityType.VINDICATOR == entityType) {
-			return EntityGroup.ILLAGER;
-		}
-		
-		return EntityGroup.DEFAULT;
+		return EntityTypeTraits.getGroup(entity.getEntityType());
+	}
+	
+	public static EntityGroup ofType(EntityType entityType) {
+		return EntityTypeTraits.getGroup(entityType);
 	}
 	
 	public boolean isUndead() {
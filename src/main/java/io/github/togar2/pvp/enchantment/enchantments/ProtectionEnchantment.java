@@ -4,7 +4,6 @@ import io.github.togar2.pvp.damage.DamageTypeInfo;
 import io.github.togar2.pvp.enchantment.CombatEnchantment;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.EquipmentSlot;
 import net.minestom.server.entity.damage.DamageType;
 import net.minestom.server.item.enchant.Enchantment;
@@ -21,7 +20,7 @@ public class ProtectionEnchantment extends CombatEnchantment {
 	@Override
 	public int getProtectionAmount(int level, DamageType damageType,
 	                               EnchantmentFeature feature, FeatureConfiguration configuration) {
-		DamageTypeInfo damageTypeInfo = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(damageType));
+		DamageTypeInfo damageTypeInfo = DamageTypeInfo.of(damageType);
 		if (damageTypeInfo.outOfWorld()) {
 			return 0;
 		} else if (type == Type.ALL) {
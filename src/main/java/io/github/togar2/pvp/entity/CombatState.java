@@ -0,0 +1,279 @@
+package io.github.togar2.pvp.entity;
+
+import io.github.togar2.pvp.feature.cooldown.VanillaAttackCooldownFeature;
+import io.github.togar2.pvp.feature.damage.VanillaDamageFeature;
+import io.github.togar2.pvp.feature.fall.VanillaFallFeature;
+import io.github.togar2.pvp.feature.food.VanillaExhaustionFeature;
+import io.github.togar2.pvp.feature.food.VanillaRegenerationFeature;
+import io.github.togar2.pvp.player.CombatPlayerImpl;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.tag.Tag;
+
+/**
+ * Holds the combat related state of a living entity which is read and written very often,
+ * like the damage invulnerability time, exhaustion and fall distance.
+ * <p>
+ * The state is stored in plain fields, so no tag lookups or boxing happen on the hot paths.
+ * It is attached once per entity, use {@link #of(LivingEntity)} to obtain it.
+ * {@link CombatPlayerImpl} holds its state in a field directly.
+ * <p>
+ * This replaces the tags previously used by the vanilla features (e.g. {@link VanillaDamageFeature#NEW_DAMAGE_TIME}).
+ * The tags are no longer live: they are only read once when the state is attached, so values set before that are not lost,
+ * but later changes to them are not seen and they are never written.
+ * The deprecated static accessors of this class (e.g. {@link #getFallDistance(LivingEntity)}) can be used
+ * as a replacement for code which used the tags.
+ */
+@SuppressWarnings("deprecation")
+public final class CombatState {
+	private static final Tag<CombatState> TAG = Tag.Transient("combatState");
+	
+	/**
+	 * Value of {@link #getLastAttackedTicks()} when the entity has not attacked yet.
+	 */
+	public static final long NEVER_ATTACKED = Long.MIN_VALUE;
+	
+	private long newDamageTime = -10000;
+	private float lastDamageAmount = 0;
+	
+	private long lastAttackedTicks = NEVER_ATTACKED;
+	
+	private float exhaustion = 0;
+	private int starvationTicks = 0;
+	
+	private double fallDistance = 0;
+	private boolean extraFallParticles = false;
+	
+	/**
+	 * Gets the combat state of the given entity, creating it if it does not exist yet.
+	 *
+	 * @param entity the entity
+	 * @return the combat state of the entity
+	 */
+	public static CombatState of(LivingEntity entity) {
+		if (entity instanceof CombatPlayerImpl player) return player.getCombatState();
+		
+		CombatState state = entity.getTag(TAG);
+		if (state == null) {
+			state = fromTags(entity);
+			entity.setTag(TAG, state);
+		}
+		
+		return state;
+	}
+	
+	/**
+	 * Creates a new combat state, taking over the values of the legacy tags if they are present.
+	 *
+	 * @param entity the entity to read the tags from
+	 * @return the new combat state
+	 */
+	public static CombatState fromTags(LivingEntity entity) {
+		CombatState state = new CombatState();
+		
+		Long newDamageTime = entity.getTag(VanillaDamageFeature.NEW_DAMAGE_TIME);
+		if (newDamageTime != null) state.newDamageTime = newDamageTime;
+		Float lastDamageAmount = entity.getTag(VanillaDamageFeature.LAST_DAMAGE_AMOUNT);
+		if (lastDamageAmount != null) state.lastDamageAmount = lastDamageAmount;
+		
+		Long lastAttackedTicks = entity.getTag(VanillaAttackCooldownFeature.LAST_ATTACKED_TICKS);
+		if (lastAttackedTicks != null) state.lastAttackedTicks = lastAttackedTicks;
+		
+		Float exhaustion = entity.getTag(VanillaExhaustionFeature.EXHAUSTION);
+		if (exhaustion != null) state.exhaustion = exhaustion;
+		Integer starvationTicks = entity.getTag(VanillaRegenerationFeature.STARVATION_TICKS);
+		if (starvationTicks != null) state.starvationTicks = starvationTicks;
+		
+		Double fallDistance = entity.getTag(VanillaFallFeature.FALL_DISTANCE);
+		if (fallDistance != null) state.fallDistance = fallDistance;
+		Boolean extraFallParticles = entity.getTag(VanillaFallFeature.EXTRA_FALL_PARTICLES);
+		if (extraFallParticles != null) state.extraFallParticles = extraFallParticles;
+		
+		return state;
+	}
+	
+	/**
+	 * Gets the alive ticks of the entity at which it will no longer be invulnerable.
+	 *
+	 * @return the alive ticks at which the invulnerability ends
+	 */
+	public long getNewDamageTime() {
+		return newDamageTime;
+	}
+	
+	public void setNewDamageTime(long newDamageTime) {
+		this.newDamageTime = newDamageTime;
+	}
+	
+	/**
+	 * Gets the amount of the last damage which caused invulnerability.
+	 *
+	 * @return the last damage amount
+	 */
+	public float getLastDamageAmount() {
+		return lastDamageAmount;
+	}
+	
+	public void setLastDamageAmount(float lastDamageAmount) {
+		this.lastDamageAmount = lastDamageAmount;
+	}
+	
+	/**
+	 * Gets the alive ticks of the entity at which it last attacked,
+	 * or {@link #NEVER_ATTACKED} if it has not attacked yet.
+	 *
+	 * @return the alive ticks of the last attack
+	 */
+	public long getLastAttackedTicks() {
+		return lastAttackedTicks;
+	}
+	
+	public void setLastAttackedTicks(long lastAttackedTicks) {
+		this.lastAttackedTicks = lastAttackedTicks;
+	}
+	
+	public float getExhaustion() {
+		return exhaustion;
+	}
+	
+	public void setExhaustion(float exhaustion) {
+		this.exhaustion = exhaustion;
+	}
+	
+	public int getStarvationTicks() {
+		return starvationTicks;
+	}
+	
+	public void setStarvationTicks(int starvationTicks) {
+		this.starvationTicks = starvationTicks;
+	}
+	
+	public double getFallDistance() {
+		return fallDistance;
+	}
+	
+	public void setFallDistance(double fallDistance) {
+		this.fallDistance = fallDistance;
+	}
+	
+	public boolean hasExtraFallParticles() {
+		return extraFallParticles;
+	}
+	
+	public void setExtraFallParticles(boolean extraFallParticles) {
+		this.extraFallParticles = extraFallParticles;
+	}
+	
+	// Compatibility view for code which used the legacy tags
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).getNewDamageTime()}
+	 */
+	@Deprecated
+	public static long getNewDamageTime(LivingEntity entity) {
+		return of(entity).getNewDamageTime();
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).setNewDamageTime(newDamageTime)}
+	 */
+	@Deprecated
+	public static void setNewDamageTime(LivingEntity entity, long newDamageTime) {
+		of(entity).setNewDamageTime(newDamageTime);
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).getLastDamageAmount()}
+	 */
+	@Deprecated
+	public static float getLastDamageAmount(LivingEntity entity) {
+		return of(entity).getLastDamageAmount();
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).setLastDamageAmount(lastDamageAmount)}
+	 */
+	@Deprecated
+	public static void setLastDamageAmount(LivingEntity entity, float lastDamageAmount) {
+		of(entity).setLastDamageAmount(lastDamageAmount);
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).getLastAttackedTicks()}
+	 */
+	@Deprecated
+	public static long getLastAttackedTicks(LivingEntity entity) {
+		return of(entity).getLastAttackedTicks();
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).setLastAttackedTicks(lastAttackedTicks)}
+	 */
+	@Deprecated
+	public static void setLastAttackedTicks(LivingEntity entity, long lastAttackedTicks) {
+		of(entity).setLastAttackedTicks(lastAttackedTicks);
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).getExhaustion()}
+	 */
+	@Deprecated
+	public static float getExhaustion(LivingEntity entity) {
+		return of(entity).getExhaustion();
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).setExhaustion(exhaustion)}
+	 */
+	@Deprecated
+	public static void setExhaustion(LivingEntity entity, float exhaustion) {
+		of(entity).setExhaustion(exhaustion);
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).getStarvationTicks()}
+	 */
+	@Deprecated
+	public static int getStarvationTicks(LivingEntity entity) {
+		return of(entity).getStarvationTicks();
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).setStarvationTicks(starvationTicks)}
+	 */
+	@Deprecated
+	public static void setStarvationTicks(LivingEntity entity, int starvationTicks) {
+		of(entity).setStarvationTicks(starvationTicks);
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).getFallDistance()}
+	 */
+	@Deprecated
+	public static double getFallDistance(LivingEntity entity) {
+		return of(entity).getFallDistance();
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).setFallDistance(fallDistance)}
+	 */
+	@Deprecated
+	public static void setFallDistance(LivingEntity entity, double fallDistance) {
+		of(entity).setFallDistance(fallDistance);
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).hasExtraFallParticles()}
+	 */
+	@Deprecated
+	public static boolean hasExtraFallParticles(LivingEntity entity) {
+		return of(entity).hasExtraFallParticles();
+	}
+	
+	/**
+	 * @deprecated use {@code CombatState.of(entity).setExtraFallParticles(extraFallParticles)}
+	 */
+	@Deprecated
+	public static void setExtraFallParticles(LivingEntity entity, boolean extraFallParticles) {
+		of(entity).setExtraFallParticles(extraFallParticles);
+	}
+}
@@ -0,0 +1,132 @@
+package io.github.togar2.pvp.entity;
+
+import io.github.togar2.pvp.enchantment.EntityGroup;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.gamedata.tags.Tag;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Table of combat related traits of entity types, indexed by the id of the entity type.
+ * This contains the {@link EntityGroup} of an entity type and a few flags, like {@link #FREEZE_HURTS_EXTRA}.
+ * <p>
+ * The table is built with the vanilla values when it is first used (or on {@link #init()}).
+ * It can be modified using {@link #setGroup(EntityType, EntityGroup)} and {@link #setFlag(EntityType, int, boolean)},
+ * for example to give custom mobs a different behaviour.
+ */
+public final class EntityTypeTraits {
+	/**
+	 * The entity type takes 5 times more freezing damage
+	 */
+	public static final int FREEZE_HURTS_EXTRA = 1;
+	/**
+	 * The entity type is not affected by sweeping attacks
+	 */
+	public static final int SWEEP_IMMUNE = 1 << 1;
+	/**
+	 * The entity type is not affected by splash and lingering potions
+	 */
+	public static final int POTION_IMMUNE = 1 << 2;
+	/**
+	 * Arrows do not get stuck in the entity type after hitting it, but keep flying
+	 */
+	public static final int DEFLECTS_ARROWS = 1 << 3;
+	
+	private static EntityGroup[] groups;
+	private static volatile int[] flags;
+	
+	private EntityTypeTraits() {}
+	
+	/**
+	 * Builds the table with the vanilla values, if it has not been built yet.
+	 */
+	public static synchronized void init() {
+		if (flags != null) return;
+		
+		Collection<EntityType> types = EntityType.values();
+		int size = 0;
+		for (EntityType type : types) {
+			size = Math.max(size, type.id() + 1);
+		}
+		
+		EntityGroup[] groups = new EntityGroup[size];
+		Arrays.fill(groups, EntityGroup.DEFAULT);
+		int[] flags = new int[size];
+		
+		for (EntityType type : new EntityType[] {
+				EntityType.BEE, EntityType.CAVE_SPIDER, EntityType.ENDERMITE,
+				EntityType.SILVERFISH, EntityType.SPIDER
+		}) groups[type.id()] = EntityGroup.ARTHROPOD;
+		
+		for (EntityType type : new EntityType[] {
+				EntityType.COD, EntityType.DOLPHIN, EntityType.ELDER_GUARDIAN, EntityType.GUARDIAN,
+				EntityType.PUFFERFISH, EntityType.SALMON, EntityType.SQUID, EntityType.TROPICAL_FISH,
+				EntityType.TURTLE
+		}) groups[type.id()] = EntityGroup.AQUATIC;
+		
+		for (EntityType type : new EntityType[] {
+				EntityType.DROWNED, EntityType.HUSK, EntityType.PHANTOM, EntityType.SKELETON,
+				EntityType.SKELETON_HORSE, EntityType.STRAY, EntityType.WITHER, EntityType.WITHER_SKELETON,
+				EntityType.ZOGLIN, EntityType.ZOMBIE, EntityType.ZOMBIE_HORSE, EntityType.ZOMBIE_VILLAGER,
+				EntityType.ZOMBIFIED_PIGLIN
+		}) groups[type.id()] = EntityGroup.UNDEAD;
+		
+		for (EntityType type : new EntityType[] {
+				EntityType.EVOKER, EntityType.ILLUSIONER, EntityType.PILLAGER, EntityType.VINDICATOR
+		}) groups[type.id()] = EntityGroup.ILLAGER;
+		
+		Tag freezeHurtsExtra = MinecraftServer.getTagManager().getTag(
+				Tag.BasicType.ENTITY_TYPES, "minecraft:freeze_hurts_extra_types");
+		for (EntityType type : types) {
+			if (freezeHurtsExtra != null && freezeHurtsExtra.contains(type.key()))
+				flags[type.id()] |= FREEZE_HURTS_EXTRA;
+		}
+		
+		flags[EntityType.ARMOR_STAND.id()] |= SWEEP_IMMUNE | POTION_IMMUNE;
+		flags[EntityType.ENDERMAN.id()] |= DEFLECTS_ARROWS;
+		
+		EntityTypeTraits.groups = groups;
+		EntityTypeTraits.flags = flags;
+	}
+	
+	public static EntityGroup getGroup(EntityType type) {
+		if (flags == null) init();
+		return groups[type.id()];
+	}
+	
+	public static void setGroup(EntityType type, EntityGroup group) {
+		if (flags == null) init();
+		groups[type.id()] = group;
+	}
+	
+	/**
+	 * Gets all the flags of an entity type, see for example {@link #FREEZE_HURTS_EXTRA}.
+	 *
+	 * @param type the entity type
+	 * @return the flags of the entity type
+	 */
+	public static int getFlags(EntityType type) {
+		if (flags == null) init();
+		return flags[type.id()];
+	}
+	
+	public static boolean hasFlag(EntityType type, int flag) {
+		return (getFlags(type) & flag) != 0;
+	}
+	
+	public static boolean hasFlag(Entity entity, int flag) {
+		return hasFlag(entity.getEntityType(), flag);
+	}
+	
+	public static void setFlag(EntityType type, int flag, boolean value) {
+		if (flags == null) init();
+		if (value) {
+			flags[type.id()] |= flag;
+		} else {
+			flags[type.id()] &= ~flag;
+		}
+	}
+}
@@ -3,14 +3,18 @@ package io.github.togar2.pvp.entity.explosion;
 import org.jetbrains.annotations.NotNull;
 
 import io.github.togar2.pvp.damage.DamageTypeInfo;
+import io.github.togar2.pvp.feature.explosion.VanillaExplosionSupplier;
 import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.entity.metadata.other.EndCrystalMeta;
+import net.minestom.server.instance.ExplosionSupplier;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 
 public class CrystalEntity extends LivingEntity {
+	public static final float EXPLOSION_STRENGTH = 6.0f;
+	
 	private final boolean fire;
 	
 	public CrystalEntity(boolean fire, boolean showingBottom) {
@@ -45,9 +49,16 @@ public class CrystalEntity extends LivingEntity {
 		// Save this.instance locally
 		Instance instance = this.instance;
 		remove();
-		if (instance.getExplosionSupplier() != null
-				&& !DamageTypeInfo.of(damage.getType()).explosive()) {
-			instance.explode((float) position.x(), (float) position.y(), (float) position.z(), 6.0f);
+		ExplosionSupplier explosionSupplier = instance.getExplosionSupplier();
+		if (explosionSupplier != null && !DamageTypeInfo.of(damage.getType()).explosive()) {
+			if (explosionSupplier instanceof VanillaExplosionSupplier vanillaSupplier) {
+				vanillaSupplier.createCrystalExplosion(
+						(float) position.x(), (float) position.y(), (float) position.z(),
+						damage.getAttacker()
+				).apply(instance);
+			} else {
+				instance.explode((float) position.x(), (float) position.y(), (float) position.z(), EXPLOSION_STRENGTH);
+			}
 		}
 
 		return true;
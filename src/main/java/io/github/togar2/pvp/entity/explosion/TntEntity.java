@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.entity.explosion;
 
+import io.github.togar2.pvp.feature.explosion.ExplosionScheduler;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.collision.BoundingBox;
@@ -44,7 +45,7 @@ public class TntEntity extends Entity {
 			BoundingBox boundingBox = this.boundingBox;
 			
 			remove();
-			if (instance.getExplosionSupplier() != null) instance.explode(
+			if (instance.getExplosionSupplier() != null) ExplosionScheduler.of(instance).explode(
 					(float) position.x(),
 					(float) (position.y() + boundingBox.height() * 0.0625),
 					(float) position.z(),
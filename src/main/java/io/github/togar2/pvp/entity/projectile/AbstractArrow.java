@@ -1,8 +1,10 @@
 package io.github.togar2.pvp.entity.projectile;
 
+import io.github.togar2.pvp.entity.EntityTypeTraits;
 import io.github.togar2.pvp.events.PickupEntityEvent;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.utils.EntityUtil;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.coordinate.Pos;
@@ -13,6 +15,7 @@ import net.minestom.server.entity.damage.DamageType;
 import net.minestom.server.entity.metadata.projectile.AbstractArrowMeta;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.instance.EntityTracker;
+import net.minestom.server.instance.Instance;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.network.packet.server.play.ChangeGameStatePacket;
 import net.minestom.server.network.packet.server.play.CollectItemPacket;
@@ -21,9 +24,8 @@ import net.minestom.server.utils.MathUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashSet;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class AbstractArrow extends CustomEntityProjectile {
@@ -37,11 +39,24 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 	private int knockback;
 	private SoundEvent soundEvent = getDefaultSound();
 	
-	private final Set<Integer> piercingIgnore = new HashSet<>();
+	// Only allocated when the arrow actually pierces an entity
+	private @Nullable IntOpenHashSet piercingIgnore;
 	private int fireTicksLeft = 0;
 	
 	protected final EnchantmentFeature enchantmentFeature;
 	
+	// Set while this arrow is dormant, see DormantProjectiles
+	@Nullable DormantProjectiles dormant;
+	long dormantCell;
+	long dormantSince;
+	long dormantUntil;
+	int dormantWheelIndex;
+	
+	// Set while this arrow counts towards the resting projectile limits, see RestingProjectiles
+	@Nullable RestingProjectiles resting;
+	long restingChunk;
+	long restingSequence;
+	
 	public AbstractArrow(@Nullable Entity shooter, @NotNull EntityType entityType,
 	                     EnchantmentFeature enchantmentFeature) {
 		super(shooter, entityType);
@@ -52,6 +67,34 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 		}
 	}
 	
+	@Override
+	public void tick(long time) {
+		// Dormant arrows are woken up by the instance when they have to be updated again,
+		// only their scheduled tasks keep running
+		if (dormant != null) {
+			if (!isRemoved()) {
+				scheduler().processTick();
+				scheduler().processTickEnd();
+			}
+			return;
+		}
+		super.tick(time);
+	}
+	
+	@Override
+	public @NotNull CompletableFuture<Void> setInstance(@NotNull Instance instance, @NotNull Pos spawnPosition) {
+		if (dormant != null) dormant.wake(this);
+		if (resting != null) resting.remove(this);
+		return super.setInstance(instance, spawnPosition);
+	}
+	
+	@Override
+	public void remove() {
+		if (dormant != null) dormant.wake(this);
+		if (resting != null) resting.remove(this);
+		super.remove();
+	}
+	
 	@Override
 	public void update(long time) {
 		if (onGround) {
@@ -106,6 +149,39 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 		//TODO water (also for other projectiles?)
 		
 		tickRemoval();
+		
+		if (!isRemoved() && canSleep()) DormantProjectiles.of(instance).sleep(this, getSleepDuration());
+	}
+	
+	/**
+	 * Whether this arrow has nothing to do and can go to sleep until it is woken up again,
+	 * see {@link DormantProjectiles}.
+	 *
+	 * @return true if this arrow can become dormant
+	 */
+	protected boolean canSleep() {
+		return isStuck() && pickupDelay <= 0 && fireTicksLeft <= 0
+				&& getVehicle() == null && getPassengers().isEmpty();
+	}
+	
+	/**
+	 * Gets the amount of ticks after which a dormant arrow has to be updated again, for example to despawn.
+	 *
+	 * @return the amount of ticks to sleep for
+	 */
+	protected int getSleepDuration() {
+		return 1200 - ticks;
+	}
+	
+	/**
+	 * Called when this arrow wakes up, to catch up on the ticks it has been dormant for.
+	 *
+	 * @param dormantTicks the amount of ticks this arrow has been dormant for
+	 */
+	protected void onWake(long dormantTicks) {
+		int elapsed = (int) Math.min(dormantTicks, Integer.MAX_VALUE);
+		ticks += elapsed;
+		if (onGround) stuckTime += elapsed;
 	}
 	
 	public void setFireTicksLeft(int fireTicksLeft) {
@@ -123,6 +199,7 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 	@Override
 	public void onUnstuck() {
 		((AbstractArrowMeta) getEntityMeta()).setInGround(false);
+		if (resting != null) resting.remove(this);
 		ThreadLocalRandom random = ThreadLocalRandom.current();
 		setVelocity(velocity.mul(
 				random.nextDouble() * 0.2,
@@ -134,12 +211,16 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 	
 	@Override
 	protected boolean canHit(Entity entity) {
-		return super.canHit(entity) && !piercingIgnore.contains(entity.getEntityId());
+		return super.canHit(entity) && !isPiercingIgnored(entity);
+	}
+	
+	private boolean isPiercingIgnored(Entity entity) {
+		return piercingIgnore != null && piercingIgnore.contains(entity.getEntityId());
 	}
 	
 	@Override
 	public boolean onHit(@NotNull Entity entity) {
-		if (piercingIgnore.contains(entity.getEntityId())) return false;
+		if (isPiercingIgnored(entity)) return false;
 		if (!(entity instanceof LivingEntity living)) return false;
 		
 		ThreadLocalRandom random = ThreadLocalRandom.current();
@@ -149,6 +230,7 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 				movementSpeed * baseDamage, 0.0, 2.147483647E9D));
 		
 		if (getPiercingLevel() > 0) {
+			if (piercingIgnore == null) piercingIgnore = new IntOpenHashSet();
 			if (piercingIgnore.size() >= getPiercingLevel() + 1) {
 				return true;
 			}
@@ -169,7 +251,7 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 		);
 		
 		if (living.damage(damageObj)) {
-			if (entity.getEntityType() == EntityType.ENDERMAN) return false;
+			if (EntityTypeTraits.hasFlag(entity, EntityTypeTraits.DEFLECTS_ARROWS)) return false;
 			
 			if (isOnFire()) {
 				living.setFireTicks(5 * ServerFlag.SERVER_TICKS_PER_SECOND);
@@ -244,8 +326,9 @@ public abstract class AbstractArrow extends CustomEntityProjectile {
 		setCritical(false);
 		setPiercingLevel((byte) 0);
 		setSound(SoundEvent.ENTITY_ARROW_HIT);
-		piercingIgnore.clear();
+		piercingIgnore = null;
 		
+		RestingProjectiles.onStuck(this);
 		return false;
 	}
 	
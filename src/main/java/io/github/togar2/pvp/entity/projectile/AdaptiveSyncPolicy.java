@@ -0,0 +1,37 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+
+/**
+ * See {@link ProjectileSyncPolicy#adaptive(double, int, double)}.
+ * <p>
+ * The viewers are only looked at when the unscaled threshold or interval is exceeded,
+ * so projectiles on a predictable path cost a couple of additions per tick.
+ */
+final class AdaptiveSyncPolicy implements ProjectileSyncPolicy {
+	private final double threshold;
+	private final int maxInterval;
+	private final double distanceScale;
+	
+	AdaptiveSyncPolicy(double threshold, int maxInterval, double distanceScale) {
+		this.threshold = threshold;
+		this.maxInterval = maxInterval;
+		this.distanceScale = distanceScale;
+	}
+	
+	@Override
+	public boolean shouldSynchronize(CustomEntityProjectile projectile, double error, int ticksSinceSync) {
+		if (error <= threshold && ticksSinceSync < maxInterval) return false;
+		
+		Pos position = projectile.getPosition();
+		double nearestSquared = Double.MAX_VALUE;
+		for (Player viewer : projectile.getViewers()) {
+			nearestSquared = Math.min(nearestSquared, viewer.getPosition().distanceSquared(position));
+		}
+		if (nearestSquared == Double.MAX_VALUE) return true;
+		
+		double scale = 1 + Math.sqrt(nearestSquared) / distanceScale;
+		return error > threshold * scale || ticksSinceSync >= maxInterval * scale;
+	}
+}
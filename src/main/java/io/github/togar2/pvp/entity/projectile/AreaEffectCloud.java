@@ -0,0 +1,223 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import io.github.togar2.pvp.entity.EntityTypeTraits;
+import io.github.togar2.pvp.feature.effect.EffectFeature;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.color.AlphaColor;
+import net.minestom.server.color.Color;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.*;
+import net.minestom.server.entity.metadata.other.AreaEffectCloudMeta;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.item.component.PotionContents;
+import net.minestom.server.particle.Particle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The cloud left behind by a lingering potion, which applies the effects of the potion to the entities standing in it.
+ * <p>
+ * The cloud waits before it becomes active, shrinks every tick and every time it affects an entity,
+ * and affects the same entity again only after the reapplication delay, like in vanilla.
+ * It does not look for entities itself: it is registered in the {@link AreaEffectClouds} of its instance,
+ * which checks the entities near all the clouds that are due at once.
+ */
+public class AreaEffectCloud extends Entity {
+	static final int CHECK_INTERVAL = 5;
+	private static final float MIN_RADIUS = 0.5f;
+	private static final double HEIGHT = 0.5;
+	
+	private final @Nullable Entity owner;
+	private final PotionContents potionContents;
+	private final EffectFeature effectFeature;
+	
+	private float radius = 3.0f;
+	private float radiusOnUse = 0;
+	private float radiusPerTick = 0;
+	private int waitTime = 20;
+	private int duration = 600;
+	private int durationOnUse = 0;
+	private int reapplicationDelay = 20;
+	
+	private int age = 0;
+	// The age at which an entity can be affected again
+	private final Object2IntOpenHashMap<LivingEntity> victims = new Object2IntOpenHashMap<>();
+	
+	// Set while this cloud is registered in the clouds of its instance, see AreaEffectClouds
+	@Nullable AreaEffectClouds clouds;
+	int indexedMinCellX, indexedMinCellZ, indexedMaxCellX, indexedMaxCellZ;
+	
+	public AreaEffectCloud(@Nullable Entity owner, PotionContents potionContents, EffectFeature effectFeature) {
+		super(EntityType.AREA_EFFECT_CLOUD);
+		this.owner = owner;
+		this.potionContents = potionContents;
+		this.effectFeature = effectFeature;
+		
+		setNoGravity(true);
+		hasPhysics = false;
+		
+		AreaEffectCloudMeta meta = (AreaEffectCloudMeta) getEntityMeta();
+		meta.setRadius(radius);
+		meta.setWaiting(true);
+		meta.setParticle(Particle.ENTITY_EFFECT.withColor(
+				new AlphaColor(255, new Color(effectFeature.getPotionColor(potionContents)))));
+	}
+	
+	@Override
+	public @NotNull CompletableFuture<Void> setInstance(@NotNull Instance instance, @NotNull Pos spawnPosition) {
+		if (clouds != null) clouds.remove(this);
+		return super.setInstance(instance, spawnPosition).thenRun(() -> {
+			if (!isRemoved()) AreaEffectClouds.of(instance).add(this);
+		});
+	}
+	
+	@Override
+	public void remove() {
+		if (clouds != null) clouds.remove(this);
+		super.remove();
+	}
+	
+	@Override
+	public void update(long time) {
+		age++;
+		if (age >= waitTime + duration) {
+			remove();
+			return;
+		}
+		
+		boolean waiting = isWaiting();
+		AreaEffectCloudMeta meta = (AreaEffectCloudMeta) getEntityMeta();
+		if (meta.isWaiting() != waiting) meta.setWaiting(waiting);
+		if (waiting) return;
+		
+		if (radiusPerTick != 0) setRadius(radius + radiusPerTick);
+	}
+	
+	/**
+	 * Whether this cloud has to check for entities this tick.
+	 */
+	boolean isDue() {
+		return !isRemoved() && !isWaiting() && age % CHECK_INTERVAL == 0;
+	}
+	
+	/**
+	 * Removes the entities which can be affected again, called before the entities are checked.
+	 */
+	void expireVictims() {
+		victims.object2IntEntrySet().removeIf(entry -> age >= entry.getIntValue());
+	}
+	
+	/**
+	 * Applies the effects of this cloud to the entity if it is standing in the cloud.
+	 */
+	void tryAffect(LivingEntity entity) {
+		if (isRemoved() || victims.containsKey(entity)) return;
+		if (EntityTypeTraits.hasFlag(entity, EntityTypeTraits.POTION_IMMUNE)) return;
+		if (entity instanceof Player player && player.getGameMode() == GameMode.SPECTATOR) return;
+		
+		Pos entityPosition = entity.getPosition();
+		BoundingBox box = entity.getBoundingBox();
+		if (entityPosition.y() + box.minY() > position.y() + HEIGHT
+				|| entityPosition.y() + box.maxY() < position.y()) return;
+		
+		double dx = entityPosition.x() - position.x();
+		double dz = entityPosition.z() - position.z();
+		if (dx * dx + dz * dz > radius * radius) return;
+		
+		victims.put(entity, age + reapplicationDelay);
+		effectFeature.addLingeringPotionEffects(entity, potionContents, this, owner);
+		
+		if (radiusOnUse != 0) {
+			setRadius(radius + radiusOnUse);
+			if (isRemoved()) return;
+		}
+		
+		if (durationOnUse != 0) {
+			duration += durationOnUse;
+			if (duration <= 0) remove();
+		}
+	}
+	
+	public boolean isWaiting() {
+		return age < waitTime;
+	}
+	
+	public @Nullable Entity getOwner() {
+		return owner;
+	}
+	
+	public PotionContents getPotionContents() {
+		return potionContents;
+	}
+	
+	public float getRadius() {
+		return radius;
+	}
+	
+	/**
+	 * Sets the radius of this cloud, removing it if the radius is below 0.5 like in vanilla.
+	 *
+	 * @param radius the new radius
+	 */
+	public void setRadius(float radius) {
+		this.radius = radius;
+		if (radius < MIN_RADIUS) {
+			remove();
+			return;
+		}
+		
+		((AreaEffectCloudMeta) getEntityMeta()).setRadius(radius);
+		if (clouds != null) clouds.update(this);
+	}
+	
+	public float getRadiusOnUse() {
+		return radiusOnUse;
+	}
+	
+	public void setRadiusOnUse(float radiusOnUse) {
+		this.radiusOnUse = radiusOnUse;
+	}
+	
+	public float getRadiusPerTick() {
+		return radiusPerTick;
+	}
+	
+	public void setRadiusPerTick(float radiusPerTick) {
+		this.radiusPerTick = radiusPerTick;
+	}
+	
+	public int getWaitTime() {
+		return waitTime;
+	}
+	
+	public void setWaitTime(int waitTime) {
+		this.waitTime = waitTime;
+	}
+	
+	public int getDuration() {
+		return duration;
+	}
+	
+	public void setDuration(int duration) {
+		this.duration = duration;
+	}
+	
+	public int getDurationOnUse() {
+		return durationOnUse;
+	}
+	
+	public void setDurationOnUse(int durationOnUse) {
+		this.durationOnUse = durationOnUse;
+	}
+	
+	public int getReapplicationDelay() {
+		return reapplicationDelay;
+	}
+	
+	public void setReapplicationDelay(int reapplicationDelay) {
+		this.reapplicationDelay = reapplicationDelay;
+	}
+}
@@ -0,0 +1,196 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.LivingEntity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.timer.TaskSchedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of the area effect clouds in an instance and applies their effects.
+ * <p>
+ * Clouds are stored in the cells of 4x4 blocks they overlap. A cloud only checks for entities every 5 ticks,
+ * when it is due all due clouds are handled together: the entities in the overlapped cells are taken from the
+ * {@link EntityGrid} of the instance, and every entity is only tested against the clouds in its own cell.
+ * This means overlapping clouds do not each scan the entities around them, and the entity tracker is not queried at all.
+ */
+public final class AreaEffectClouds {
+	private static final Tag<AreaEffectClouds> TAG = Tag.Transient("areaEffectClouds");
+	
+	private final Instance instance;
+	private final List<AreaEffectCloud> clouds = new ArrayList<>();
+	private final Long2ObjectOpenHashMap<List<AreaEffectCloud>> cells = new Long2ObjectOpenHashMap<>();
+	
+	private final LongOpenHashSet dueCells = new LongOpenHashSet();
+	// Clouds which were removed or resized while applying effects, their cells are updated afterwards
+	private final List<AreaEffectCloud> deferred = new ArrayList<>();
+	private boolean applying = false;
+	
+	private AreaEffectClouds(Instance instance) {
+		this.instance = instance;
+		
+		instance.scheduler().submitTask(() -> {
+			tick();
+			return TaskSchedule.nextTick();
+		});
+	}
+	
+	/**
+	 * Gets the area effect clouds of the given instance, creating them if they do not exist yet.
+	 *
+	 * @param instance the instance
+	 * @return the area effect clouds of the instance
+	 */
+	public static AreaEffectClouds of(Instance instance) {
+		AreaEffectClouds clouds = instance.getTag(TAG);
+		if (clouds == null) {
+			clouds = new AreaEffectClouds(instance);
+			instance.setTag(TAG, clouds);
+		}
+		
+		return clouds;
+	}
+	
+	/**
+	 * Gets the amount of area effect clouds in the instance.
+	 *
+	 * @return the amount of clouds
+	 */
+	public int size() {
+		return clouds.size();
+	}
+	
+	void add(AreaEffectCloud cloud) {
+		cloud.clouds = this;
+		clouds.add(cloud);
+		index(cloud);
+	}
+	
+	void remove(AreaEffectCloud cloud) {
+		cloud.clouds = null;
+		clouds.remove(cloud);
+		
+		if (applying) {
+			deferred.add(cloud);
+		} else {
+			unindex(cloud);
+		}
+	}
+	
+	/**
+	 * Updates the cells of a cloud after its radius has changed.
+	 */
+	void update(AreaEffectCloud cloud) {
+		Pos position = cloud.getPosition();
+		double extent = cloud.getRadius() + EntityGrid.MARGIN;
+		if (minCell(position.x(), extent) == cloud.indexedMinCellX
+				&& minCell(position.z(), extent) == cloud.indexedMinCellZ
+				&& maxCell(position.x(), extent) == cloud.indexedMaxCellX
+				&& maxCell(position.z(), extent) == cloud.indexedMaxCellZ) return;
+		
+		if (applying) {
+			deferred.add(cloud);
+			return;
+		}
+		
+		unindex(cloud);
+		index(cloud);
+	}
+	
+	private void tick() {
+		if (clouds.isEmpty()) return;
+		
+		for (AreaEffectCloud cloud : clouds) {
+			if (!cloud.isDue()) continue;
+			cloud.expireVictims();
+			
+			for (int cellX = cloud.indexedMinCellX; cellX <= cloud.indexedMaxCellX; cellX++) {
+				for (int cellZ = cloud.indexedMinCellZ; cellZ <= cloud.indexedMaxCellZ; cellZ++) {
+					dueCells.add(EntityGrid.cell(cellX, cellZ));
+				}
+			}
+		}
+		
+		if (dueCells.isEmpty()) return;
+		
+		EntityGrid grid = EntityGrid.of(instance);
+		applying = true;
+		try {
+			LongIterator iterator = dueCells.iterator();
+			while (iterator.hasNext()) {
+				long cell = iterator.nextLong();
+				List<AreaEffectCloud> cellClouds = cells.get(cell);
+				if (cellClouds == null) continue;
+				
+				for (int i = grid.first(cell); i >= 0; i = grid.next(i)) {
+					if (!(grid.get(i) instanceof LivingEntity entity)) continue;
+					for (AreaEffectCloud cloud : cellClouds) {
+						if (cloud.isDue()) cloud.tryAffect(entity);
+					}
+				}
+			}
+		} finally {
+			applying = false;
+			dueCells.clear();
+		}
+		
+		for (AreaEffectCloud cloud : deferred) {
+			unindex(cloud);
+			if (cloud.clouds == this) index(cloud);
+		}
+		deferred.clear();
+	}
+	
+	private void index(AreaEffectCloud cloud) {
+		Pos position = cloud.getPosition();
+		double extent = cloud.getRadius() + EntityGrid.MARGIN;
+		cloud.indexedMinCellX = minCell(position.x(), extent);
+		cloud.indexedMinCellZ = minCell(position.z(), extent);
+		cloud.indexedMaxCellX = maxCell(position.x(), extent);
+		cloud.indexedMaxCellZ = maxCell(position.z(), extent);
+		
+		for (int cellX = cloud.indexedMinCellX; cellX <= cloud.indexedMaxCellX; cellX++) {
+			for (int cellZ = cloud.indexedMinCellZ; cellZ <= cloud.indexedMaxCellZ; cellZ++) {
+				long cell = EntityGrid.cell(cellX, cellZ);
+				List<AreaEffectCloud> cellClouds = cells.get(cell);
+				if (cellClouds == null) {
+					cellClouds = new ArrayList<>();
+					cells.put(cell, cellClouds);
+				}
+				
+				cellClouds.add(cloud);
+			}
+		}
+	}
+	
+	private void unindex(AreaEffectCloud cloud) {
+		for (int cellX = cloud.indexedMinCellX; cellX <= cloud.indexedMaxCellX; cellX++) {
+			for (int cellZ = cloud.indexedMinCellZ; cellZ <= cloud.indexedMaxCellZ; cellZ++) {
+				long cell = EntityGrid.cell(cellX, cellZ);
+				List<AreaEffectCloud> cellClouds = cells.get(cell);
+				if (cellClouds == null) continue;
+				
+				cellClouds.remove(cloud);
+				if (cellClouds.isEmpty()) cells.remove(cell);
+			}
+		}
+		
+		// Make sure a cloud is never unindexed twice
+		cloud.indexedMinCellX = cloud.indexedMinCellZ = 0;
+		cloud.indexedMaxCellX = cloud.indexedMaxCellZ = -1;
+	}
+	
+	private static int minCell(double coordinate, double extent) {
+		return (int) Math.floor(coordinate - extent) >> EntityGrid.CELL_SHIFT;
+	}
+	
+	private static int maxCell(double coordinate, double extent) {
+		return (int) Math.floor(coordinate + extent) >> EntityGrid.CELL_SHIFT;
+	}
+}
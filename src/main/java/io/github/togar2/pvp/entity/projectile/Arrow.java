@@ -41,6 +41,14 @@ public class Arrow extends AbstractArrow {
 		}
 	}
 	
+	@Override
+	protected int getSleepDuration() {
+		int duration = super.getSleepDuration();
+		// Wake up in time to clear the potion effect particles
+		if (onGround && stuckTime < 600) duration = Math.min(duration, 600 - stuckTime);
+		return duration;
+	}
+	
 	@Override
 	protected ItemStack getPickupItem() {
 		return itemStack;
@@ -14,20 +14,24 @@ import net.minestom.server.event.entity.projectile.ProjectileCollideWithBlockEve
 import net.minestom.server.event.entity.projectile.ProjectileCollideWithEntityEvent;
 import net.minestom.server.event.entity.projectile.ProjectileUncollideEvent;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.utils.chunk.ChunkCache;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 
 public class CustomEntityProjectile extends Entity {
 	private static final BoundingBox POINT_BOX = new BoundingBox(0, 0, 0);
 	private static final BoundingBox UNSTUCK_BOX = new BoundingBox(0.12, 0.6, 0.12);
+	// Aerodynamics are immutable, so every projectile of the same type can share them
+	private static final Map<EntityType, Aerodynamics> AERODYNAMICS = new ConcurrentHashMap<>();
 
 	private final Entity shooter;
 	protected boolean noClip;
@@ -36,6 +40,19 @@ public class CustomEntityProjectile extends Entity {
 	
 	private PhysicsResult previousPhysicsResult = null;
 	
+	// Set by the projectile system of the instance, if there is one
+	@Nullable ProjectileSystem projectileSystem;
+	int projectileSystemSlot = -1;
+	
+	// Set while this projectile is spawned as part of a volley
+	@Nullable ProjectileVolley volley;
+	
+	private ProjectileSyncPolicy syncPolicy = ProjectileSyncPolicy.ADAPTIVE;
+	// Where viewers are predicted to see this projectile since the last synchronization, velocity is per tick
+	private double predictedX, predictedY, predictedZ;
+	private double predictedVelocityX, predictedVelocityY, predictedVelocityZ;
+	private int ticksSinceSync;
+	
 	/**
 	 * Constructs new projectile.
 	 *
@@ -51,17 +68,37 @@ public class CustomEntityProjectile extends Entity {
 	private void setup() {
 		collidesWithEntities = false;
 		preventBlockPlacement = false;
-		setAerodynamics(new Aerodynamics(getAerodynamics().gravity(), 0.99, 0.99));
+		Aerodynamics aerodynamics = AERODYNAMICS.get(getEntityType());
+		if (aerodynamics == null) {
+			aerodynamics = new Aerodynamics(getAerodynamics().gravity(), 0.99, 0.99);
+			AERODYNAMICS.put(getEntityType(), aerodynamics);
+		}
+		setAerodynamics(aerodynamics);
 		if (getEntityMeta() instanceof ProjectileMeta) {
 			((ProjectileMeta) getEntityMeta()).setShooter(shooter);
 		}
-		setSynchronizationTicks(getUpdateInterval());
+		// The sync policy decides every tick whether a synchronization is needed
+		setSynchronizationTicks(1);
 	}
 	
 	public @Nullable Entity getShooter() {
 		return shooter;
 	}
 	
+	public ProjectileSyncPolicy getSyncPolicy() {
+		return syncPolicy;
+	}
+	
+	/**
+	 * Sets the policy which decides when the position of this projectile is sent to its viewers.
+	 * Defaults to {@link ProjectileSyncPolicy#ADAPTIVE}.
+	 *
+	 * @param syncPolicy the sync policy
+	 */
+	public void setSyncPolicy(@NotNull ProjectileSyncPolicy syncPolicy) {
+		this.syncPolicy = syncPolicy;
+	}
+	
 	/**
 	 * Called when this projectile is stuck in blocks.
 	 * Probably you want to do nothing with arrows in such case and to remove other types of projectiles.
@@ -152,8 +189,35 @@ public class CustomEntityProjectile extends Entity {
 		shoot(dx, dy, dz, power, spread);
 	}
 	
+	@Override
+	public @NotNull CompletableFuture<Void> setInstance(@NotNull Instance instance, @NotNull Pos spawnPosition) {
+		if (projectileSystem != null) projectileSystem.remove(this);
+		return super.setInstance(instance, spawnPosition).thenRun(() -> {
+			ProjectileSystem system = ProjectileSystem.get(instance);
+			// Viewers have just received the spawn packet
+			resetPrediction();
+			if (system != null && usesProjectileSystem() && !isRemoved()) system.add(this);
+		});
+	}
+	
+	@Override
+	public void updateNewViewer(@NotNull Player player) {
+		// The volley sends the spawn packets of all its projectiles at once
+		if (volley != null) {
+			volley.addViewer(this, player);
+			return;
+		}
+		
+		super.updateNewViewer(player);
+	}
+	
+	void sendSpawnPackets(Player player) {
+		super.updateNewViewer(player);
+	}
+	
 	@Override
 	public void remove() {
+		if (projectileSystem != null) projectileSystem.remove(this);
 		super.remove();
 	}
 	
@@ -191,9 +255,53 @@ public class CustomEntityProjectile extends Entity {
 		// For some reason, sending a synchronization when stuck means the position of the arrow will change slightly
 		// on the client even though the position on the server has not changed at all. Why? No clue.
 		// This check does solve the issue though.
-		if (isStuck()) return;
+		if (isStuck()) {
+			resetPrediction();
+			return;
+		}
+		
+		// Move the predicted position like viewers do on their own
+		predictedX += predictedVelocityX;
+		predictedY += predictedVelocityY;
+		predictedZ += predictedVelocityZ;
+		Aerodynamics aerodynamics = getAerodynamics();
+		predictedVelocityX *= aerodynamics.horizontalAirResistance();
+		predictedVelocityY = predictedVelocityY * aerodynamics.verticalAirResistance()
+				- (hasNoGravity() ? 0 : aerodynamics.gravity());
+		predictedVelocityZ *= aerodynamics.horizontalAirResistance();
+		ticksSinceSync++;
+		
+		double errorX = position.x() - predictedX;
+		double errorY = position.y() - predictedY;
+		double errorZ = position.z() - predictedZ;
+		double error = Math.sqrt(errorX * errorX + errorY * errorY + errorZ * errorZ);
+		if (!syncPolicy.shouldSynchronize(this, error, ticksSinceSync)) return;
 		
 		super.synchronizePosition();
+		resetPrediction();
+	}
+	
+	/**
+	 * Predicts that viewers see this projectile at its current position, moving with its current velocity.
+	 */
+	private void resetPrediction() {
+		predictedX = position.x();
+		predictedY = position.y();
+		predictedZ = position.z();
+		predictedVelocityX = velocity.x() / ServerFlag.SERVER_TICKS_PER_SECOND;
+		predictedVelocityY = velocity.y() / ServerFlag.SERVER_TICKS_PER_SECOND;
+		predictedVelocityZ = velocity.z() / ServerFlag.SERVER_TICKS_PER_SECOND;
+		ticksSinceSync = 0;
+	}
+	
+	@Override
+	public void setVelocity(@NotNull Vec velocity) {
+		super.setVelocity(velocity);
+		
+		// Viewers receive the new velocity and continue from their current position
+		predictedVelocityX = velocity.x() / ServerFlag.SERVER_TICKS_PER_SECOND;
+		predictedVelocityY = velocity.y() / ServerFlag.SERVER_TICKS_PER_SECOND;
+		predictedVelocityZ = velocity.z() / ServerFlag.SERVER_TICKS_PER_SECOND;
 	}
 	
 	private float prevYaw, prevPitch;
@@ -204,104 +312,174 @@ public class CustomEntityProjectile extends Entity {
 		this.gravityTickCount = isStuck() ? 0 : gravityTickCount + 1;
 		if (vehicle != null) return;
 		
+		// Projectiles in an instance with a projectile system are moved by the system
+		if (projectileSystem != null) return;
+		
 		if (!isStuck()) {
-			Vec diff = velocity.div(ServerFlag.SERVER_TICKS_PER_SECOND);
-			// Prevent entity infinitely in the void
-			if (instance.isInVoid(position)) {
-				scheduler().scheduleNextProcess(this::remove);
-				return;
-			}
-			
-            ChunkCache blockGetter = new ChunkCache(instance, currentChunk, Block.AIR);
-			PhysicsResult physicsResult = ProjectileUtil.simulateMovement(position, diff, POINT_BOX,
-					instance.getWorldBorder(), blockGetter, hasPhysics, previousPhysicsResult, true);
-			this.previousPhysicsResult = physicsResult;
-			
-			Pos newPosition = physicsResult.newPosition();
-			
-			if (!noClip) {
-				// We won't check collisions with self for first ticks of projectile's life, because it spawns in the
-				// shooter and will immediately be triggered by him.
-				boolean noCollideShooter = getAliveTicks() < 6;
-				Collection<EntityCollisionResult> entityResult = CollisionUtils.checkEntityCollisions(instance, boundingBox.expand(0.1, 0.3, 0.1),
-						position.add(0, -0.3, 0), diff, 3, e -> {
-							if (noCollideShooter && e == shooter) return false;
-							return e != this && canHit(e);
-						}, physicsResult);
-				
-				if (!entityResult.isEmpty()) {
-					Vec prevVelocity = velocity;
-					EntityCollisionResult collided = entityResult.stream().findFirst().orElse(null);
-					
-					var event = new ProjectileCollideWithEntityEvent(this, Pos.fromPoint(collided.collisionPoint()), collided.entity());
-					EventDispatcher.call(event);
-					if (!event.isCancelled()) {
-						if (onHit(collided.entity())) {
-							// Don't remove now because rest of Entity#tick might throw errors
-							scheduler().scheduleNextProcess(this::remove);
-							// Prevent hitting blocks
-							return;
-						} else {
-							// If velocity has been changed because of bounce, prevent projectile from moving further
-							if (velocity != prevVelocity) newPosition = position;
-						}
-					}
-				}
-			}
-			
-			Chunk finalChunk = ChunkUtils.retrieve(instance, currentChunk, physicsResult.newPosition());
-			if (!ChunkUtils.isLoaded(finalChunk)) return;
+			move(new ChunkCache(instance, currentChunk, Block.AIR));
+		}
+	}
+	
+	/**
+	 * Moves this projectile for one tick, handling block and entity collisions.
+	 *
+	 * @param blockGetter the block getter to check block collisions with
+	 */
+	void move(Block.Getter blockGetter) {
+		Vec diff = velocity.div(ServerFlag.SERVER_TICKS_PER_SECOND);
+		// Prevent entity infinitely in the void
+		if (instance.isInVoid(position)) {
+			scheduler().scheduleNextProcess(this::remove);
+			return;
+		}
+		
+		PhysicsResult physicsResult = ProjectileUtil.simulateMovement(position, diff, POINT_BOX,
+				instance.getWorldBorder(), blockGetter, hasPhysics, previousPhysicsResult, true);
+		this.previousPhysicsResult = physicsResult;
+		
+		Pos newPosition = physicsResult.newPosition();
+		
+		if (!noClip) {
+			EntityGrid.Hit hit = findEntityHit(diff, physicsResult);
 			
-			if (physicsResult.hasCollision() && !isStuck()) {
-				double signumX = physicsResult.collisionX() ? Math.signum(velocity.x()) : 0;
-				double signumY = physicsResult.collisionY() ? Math.signum(velocity.y()) : 0;
-				double signumZ = physicsResult.collisionZ() ? Math.signum(velocity.z()) : 0;
-				Vec collisionDirection = new Vec(signumX, signumY, signumZ);
-				
-				Point collidedPosition = collisionDirection.add(physicsResult.newPosition()).apply(Vec.Operator.FLOOR);
-				Block block = instance.getBlock(collidedPosition);
+			if (hit != null) {
+				Vec prevVelocity = velocity;
 				
-				var event = new ProjectileCollideWithBlockEvent(this, physicsResult.newPosition().withCoord(collidedPosition), block);
+				var event = new ProjectileCollideWithEntityEvent(this, Pos.fromPoint(hit.collisionPoint()), hit.entity());
 				EventDispatcher.call(event);
 				if (!event.isCancelled()) {
-					setNoGravity(true);
-					setVelocity(Vec.ZERO);
-					this.collisionDirection = collisionDirection;
-					
-					if (onStuck()) {
+					if (onHit(hit.entity())) {
 						// Don't remove now because rest of Entity#tick might throw errors
 						scheduler().scheduleNextProcess(this::remove);
+						// Prevent hitting blocks
+						return;
+					} else {
+						// If velocity has been changed because of bounce, prevent projectile from moving further
+						if (velocity != prevVelocity) newPosition = position;
 					}
 				}
 			}
+		}
+		
+		Chunk finalChunk = ChunkUtils.retrieve(instance, currentChunk, physicsResult.newPosition());
+		if (!ChunkUtils.isLoaded(finalChunk)) return;
+		
+		if (physicsResult.hasCollision() && !isStuck()) {
+			double signumX = physicsResult.collisionX() ? Math.signum(velocity.x()) : 0;
+			double signumY = physicsResult.collisionY() ? Math.signum(velocity.y()) : 0;
+			double signumZ = physicsResult.collisionZ() ? Math.signum(velocity.z()) : 0;
+			Vec collisionDirection = new Vec(signumX, signumY, signumZ);
 			
-			Aerodynamics aerodynamics = getAerodynamics();
-			velocity = velocity.mul(
-					aerodynamics.horizontalAirResistance(),
-					aerodynamics.verticalAirResistance(),
-					aerodynamics.horizontalAirResistance()
-			).sub(0, hasNoGravity() ? 0 : getAerodynamics().gravity() * ServerFlag.SERVER_TICKS_PER_SECOND, 0);
-			onGround = physicsResult.isOnGround();
-			
-			float yaw = position.yaw();
-			float pitch = position.pitch();
+			Point collidedPosition = collisionDirection.add(physicsResult.newPosition()).apply(Vec.Operator.FLOOR);
+			Block block = instance.getBlock(collidedPosition);
 			
-			if (!noClip) {
-				yaw = (float) Math.toDegrees(Math.atan2(diff.x(), diff.z()));
-				pitch = (float) Math.toDegrees(
-						Math.atan2(diff.y(), Math.sqrt(diff.x() * diff.x() + diff.z() * diff.z())));
+			var event = new ProjectileCollideWithBlockEvent(this, physicsResult.newPosition().withCoord(collidedPosition), block);
+			EventDispatcher.call(event);
+			if (!event.isCancelled()) {
+				setNoGravity(true);
+				setVelocity(Vec.ZERO);
+				this.collisionDirection = collisionDirection;
 				
-				// Vanilla really likes to use variables from the render code
-				// on the server side in a way that does not make sense at all
-				yaw = lerp(prevYaw, yaw);
-				pitch = lerp(prevPitch, pitch);
+				if (onStuck()) {
+					// Don't remove now because rest of Entity#tick might throw errors
+					scheduler().scheduleNextProcess(this::remove);
+				}
 			}
+		}
+		
+		Aerodynamics aerodynamics = getAerodynamics();
+		Vec newVelocity = velocity.mul(
+				aerodynamics.horizontalAirResistance(),
+				aerodynamics.verticalAirResistance(),
+				aerodynamics.horizontalAirResistance()
+		).sub(0, hasNoGravity() ? 0 : getAerodynamics().gravity() * ServerFlag.SERVER_TICKS_PER_SECOND, 0);
+		finishMove(newPosition, newVelocity, diff.x(), diff.y(), diff.z(), physicsResult.isOnGround());
+	}
+	
+	/**
+	 * Moves this projectile without checking for collisions,
+	 * used by the {@link ProjectileSystem} when it has already checked that nothing is in the way.
+	 */
+	void moveUnobstructed(Pos newPosition, Vec newVelocity, double diffX, double diffY, double diffZ) {
+		this.previousPhysicsResult = null;
+		finishMove(newPosition, newVelocity, diffX, diffY, diffZ, false);
+	}
+	
+	/**
+	 * Finds the first entity this projectile hits while moving, using the {@link EntityGrid} of the instance.
+	 *
+	 * @param diff the movement of this tick
+	 * @param physicsResult the result of the block collision check, or null if it was not done
+	 * @return the hit, or null if no entity is hit before a block
+	 */
+	@Nullable EntityGrid.Hit findEntityHit(Vec diff, @Nullable PhysicsResult physicsResult) {
+		double maxFraction = 1;
+		if (physicsResult != null && physicsResult.hasCollision()) {
+			double length = diff.length();
+			if (length > 0) maxFraction = physicsResult.newPosition().distance(position) / length;
+		}
+		
+		return findEntityHit(diff.x(), diff.y(), diff.z(), maxFraction);
+	}
+	
+	/**
+	 * Finds the first entity this projectile hits while moving, using the {@link EntityGrid} of the instance.
+	 *
+	 * @param diffX the movement of this tick along the x axis
+	 * @param diffY the movement of this tick along the y axis
+	 * @param diffZ the movement of this tick along the z axis
+	 * @param maxFraction the fraction of the movement after which hits are ignored
+	 * @return the hit, or null if no entity is hit
+	 */
+	@Nullable EntityGrid.Hit findEntityHit(double diffX, double diffY, double diffZ, double maxFraction) {
+		// The bounding box expanded by (0.1, 0.3, 0.1), like BoundingBox#expand
+		return EntityGrid.of(instance).sweep(this,
+				boundingBox.width() + 0.1, boundingBox.height() + 0.3, boundingBox.depth() + 0.1,
+				position.x(), position.y() - 0.3, position.z(), diffX, diffY, diffZ, maxFraction);
+	}
+	
+	boolean canCollideWith(Entity entity, boolean noCollideShooter) {
+		// We won't check collisions with self for first ticks of projectile's life, because it spawns in the
+		// shooter and will immediately be triggered by him.
+		if (noCollideShooter && entity == shooter) return false;
+		return entity != this && canHit(entity);
+	}
+	
+	/**
+	 * Applies the new velocity and moves this projectile to its new position,
+	 * rotating it towards the direction it moved in.
+	 */
+	void finishMove(Pos newPosition, Vec newVelocity, double diffX, double diffY, double diffZ, boolean onGround) {
+		velocity = newVelocity;
+		this.onGround = onGround;
+		
+		float yaw = position.yaw();
+		float pitch = position.pitch();
+		
+		if (!noClip) {
+			yaw = (float) Math.toDegrees(Math.atan2(diffX, diffZ));
+			pitch = (float) Math.toDegrees(Math.atan2(diffY, Math.sqrt(diffX * diffX + diffZ * diffZ)));
 			
-			this.prevYaw = yaw;
-			this.prevPitch = pitch;
-			
-			refreshPosition(newPosition.withView(yaw, pitch), noClip, isStuck());
+			// Vanilla really likes to use variables from the render code
+			// on the server side in a way that does not make sense at all
+			yaw = lerp(prevYaw, yaw);
+			pitch = lerp(prevPitch, pitch);
 		}
+		
+		this.prevYaw = yaw;
+		this.prevPitch = pitch;
+		
+		refreshPosition(newPosition.withView(yaw, pitch), noClip, isStuck());
+	}
+	
+	/**
+	 * Whether this projectile can be moved by a {@link ProjectileSystem}.
+	 * Projectiles with custom movement should return false.
+	 *
+	 * @return true if this projectile can be moved by a projectile system
+	 */
+	protected boolean usesProjectileSystem() {
+		return true;
 	}
 	
 	private static float lerp(float first, float second) {
@@ -321,7 +499,7 @@ public class CustomEntityProjectile extends Entity {
 		this.prevYaw = position.yaw();
 		this.prevPitch = position.pitch();
 		
-		return super.teleport(position);
+		return super.teleport(position).thenRun(this::resetPrediction);
 	}
 	
 	protected int getUpdateInterval() {
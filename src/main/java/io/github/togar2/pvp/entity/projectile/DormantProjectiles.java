@@ -0,0 +1,242 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.player.PlayerBlockBreakEvent;
+import net.minestom.server.event.player.PlayerBlockPlaceEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.timer.TaskSchedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps track of the dormant (stuck) arrows in an instance.
+ * <p>
+ * An arrow which is stuck in a block and has nothing to do goes to sleep: it skips its tick, except for its
+ * scheduled tasks, until it is woken up again. Dormant arrows are stored in columns of 4x4 blocks and are woken when
+ * <ul>
+ *     <li>a player who can pick up the arrow comes close enough to do so,</li>
+ *     <li>a block in the column changes, so the arrow can check whether it is still stuck
+ *     (player block breaking and placing and explosions are handled automatically,
+ *     use {@link #wake(Instance, Point)} after setting blocks yourself),</li>
+ *     <li>the arrow needs to be updated again, for example to despawn.
+ *     This uses a timer wheel, so dormant arrows do not have to count their ticks.</li>
+ * </ul>
+ * Once an arrow has been updated after waking up, it goes back to sleep if it still has nothing to do.
+ * Dormant arrows are not moved or updated, which also means no {@link net.minestom.server.event.entity.EntityTickEvent}
+ * is called for them. The tasks of their {@link net.minestom.server.entity.Entity#scheduler()} still run every tick.
+ */
+public final class DormantProjectiles {
+	private static final Tag<DormantProjectiles> TAG = Tag.Transient("dormantProjectiles");
+	private static final int CELL_SHIFT = 2;
+	private static final double PICKUP_RANGE = 2;
+	private static final int WHEEL_SIZE = 2048;
+	
+	private final Instance instance;
+	private final Long2ObjectOpenHashMap<List<AbstractArrow>> cells = new Long2ObjectOpenHashMap<>();
+	@SuppressWarnings("unchecked")
+	private final List<AbstractArrow>[] wheel = new List[WHEEL_SIZE];
+	private long lastTick;
+	private int size = 0;
+	
+	private DormantProjectiles(Instance instance) {
+		this.instance = instance;
+		this.lastTick = instance.getWorldAge();
+		
+		instance.eventNode().addListener(PlayerBlockBreakEvent.class, event -> wake(event.getBlockPosition()));
+		instance.eventNode().addListener(PlayerBlockPlaceEvent.class, event -> wake(event.getBlockPosition()));
+		instance.scheduler().submitTask(() -> {
+			tick();
+			return TaskSchedule.nextTick();
+		});
+	}
+	
+	/**
+	 * Gets the dormant projectiles of the given instance, creating them if they do not exist yet.
+	 *
+	 * @param instance the instance
+	 * @return the dormant projectiles of the instance
+	 */
+	public static DormantProjectiles of(Instance instance) {
+		DormantProjectiles dormant = instance.getTag(TAG);
+		if (dormant == null) {
+			dormant = new DormantProjectiles(instance);
+			instance.setTag(TAG, dormant);
+		}
+		
+		return dormant;
+	}
+	
+	/**
+	 * Wakes the dormant arrows near the given block, should be called after changing the block.
+	 *
+	 * @param instance the instance of the block
+	 * @param block the position of the block
+	 */
+	public static void wake(Instance instance, Point block) {
+		DormantProjectiles dormant = instance.getTag(TAG);
+		if (dormant != null) dormant.wake(block);
+	}
+	
+	/**
+	 * Wakes the dormant arrows in the given area, should be called after changing blocks in the area.
+	 *
+	 * @param instance the instance of the area
+	 * @param minX the minimum block x coordinate of the area
+	 * @param minZ the minimum block z coordinate of the area
+	 * @param maxX the maximum block x coordinate of the area
+	 * @param maxZ the maximum block z coordinate of the area
+	 */
+	public static void wake(Instance instance, int minX, int minZ, int maxX, int maxZ) {
+		DormantProjectiles dormant = instance.getTag(TAG);
+		if (dormant == null || dormant.size == 0) return;
+		
+		for (int cellX = minX >> CELL_SHIFT; cellX <= maxX >> CELL_SHIFT; cellX++) {
+			for (int cellZ = minZ >> CELL_SHIFT; cellZ <= maxZ >> CELL_SHIFT; cellZ++) {
+				dormant.wakeCell(cellX, cellZ);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the amount of dormant arrows in the instance.
+	 *
+	 * @return the amount of dormant arrows
+	 */
+	public int size() {
+		return size;
+	}
+	
+	void sleep(AbstractArrow arrow, int duration) {
+		if (arrow.dormant != null) return;
+		
+		Pos position = arrow.getPosition();
+		long cell = cell((int) Math.floor(position.x()) >> CELL_SHIFT, (int) Math.floor(position.z()) >> CELL_SHIFT);
+		List<AbstractArrow> arrows = cells.get(cell);
+		if (arrows == null) {
+			arrows = new ArrayList<>();
+			cells.put(cell, arrows);
+		}
+		arrows.add(arrow);
+		size++;
+		
+		long tick = instance.getWorldAge();
+		arrow.dormant = this;
+		arrow.dormantCell = cell;
+		arrow.dormantSince = tick;
+		arrow.dormantUntil = tick + Math.max(duration, 1);
+		
+		List<AbstractArrow> bucket = wheel[bucket(arrow.dormantUntil)];
+		if (bucket == null) {
+			bucket = new ArrayList<>();
+			wheel[bucket(arrow.dormantUntil)] = bucket;
+		}
+		arrow.dormantWheelIndex = bucket.size();
+		bucket.add(arrow);
+	}
+	
+	/**
+	 * Wakes a dormant arrow, after which it will be ticked again.
+	 */
+	void wake(AbstractArrow arrow) {
+		if (arrow.dormant != this) return;
+		
+		List<AbstractArrow> arrows = cells.get(arrow.dormantCell);
+		if (arrows != null) {
+			arrows.remove(arrow);
+			if (arrows.isEmpty()) cells.remove(arrow.dormantCell);
+		}
+		size--;
+		
+		// Swap the last entry of the bucket into the place of this arrow
+		List<AbstractArrow> bucket = wheel[bucket(arrow.dormantUntil)];
+		AbstractArrow last = bucket.remove(bucket.size() - 1);
+		if (last != arrow) {
+			bucket.set(arrow.dormantWheelIndex, last);
+			last.dormantWheelIndex = arrow.dormantWheelIndex;
+		}
+		
+		arrow.dormant = null;
+		arrow.onWake(instance.getWorldAge() - arrow.dormantSince);
+	}
+	
+	private void wake(Point block) {
+		if (size == 0) return;
+		wakeCell(block.blockX() >> CELL_SHIFT, block.blockZ() >> CELL_SHIFT);
+	}
+	
+	private void wakeCell(int cellX, int cellZ) {
+		List<AbstractArrow> arrows = cells.get(cell(cellX, cellZ));
+		if (arrows == null) return;
+		
+		// Waking removes the arrow from the list, so iterate backwards
+		for (int i = arrows.size() - 1; i >= 0; i--) {
+			wake(arrows.get(i));
+		}
+	}
+	
+	/**
+	 * Wakes the arrows in a cell which the player can pick up, using the same checks as {@link AbstractArrow#update(long)}.
+	 */
+	private void wakeCellForPickup(int cellX, int cellZ, Player player, BoundingBox pickupBox) {
+		List<AbstractArrow> arrows = cells.get(cell(cellX, cellZ));
+		if (arrows == null) return;
+		
+		for (int i = arrows.size() - 1; i >= 0; i--) {
+			AbstractArrow arrow = arrows.get(i);
+			if (!arrow.canBePickedUp(player) || !arrow.isViewer(player)
+					|| !pickupBox.intersectEntity(player.getPosition(), arrow)) continue;
+			wake(arrow);
+		}
+	}
+	
+	private void tick() {
+		long now = instance.getWorldAge();
+		
+		// Timers, a full rotation of the wheel is enough to process every bucket
+		long from = Math.max(lastTick + 1, now - WHEEL_SIZE + 1);
+		for (long tick = from; tick <= now; tick++) {
+			List<AbstractArrow> bucket = wheel[bucket(tick)];
+			if (bucket == null) continue;
+			
+			// Waking swaps the last entry into the place of the arrow, so iterate backwards
+			for (int i = bucket.size() - 1; i >= 0; i--) {
+				AbstractArrow arrow = bucket.get(i);
+				// Arrows which sleep for longer than a rotation of the wheel stay in the bucket
+				if (arrow.dormantUntil <= now) wake(arrow);
+			}
+		}
+		lastTick = now;
+		
+		// Players picking up arrows
+		if (size == 0) return;
+		for (Player player : instance.getPlayers()) {
+			if (!player.canPickupItem()) continue;
+			BoundingBox pickupBox = player.getBoundingBox().expand(1, 0.5f, 1);
+			
+			Pos position = player.getPosition();
+			int minCellX = (int) Math.floor(position.x() - PICKUP_RANGE) >> CELL_SHIFT;
+			int maxCellX = (int) Math.floor(position.x() + PICKUP_RANGE) >> CELL_SHIFT;
+			int minCellZ = (int) Math.floor(position.z() - PICKUP_RANGE) >> CELL_SHIFT;
+			int maxCellZ = (int) Math.floor(position.z() + PICKUP_RANGE) >> CELL_SHIFT;
+			for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+				for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+					wakeCellForPickup(cellX, cellZ, player, pickupBox);
+				}
+			}
+		}
+	}
+	
+	private static int bucket(long tick) {
+		return (int) (tick & (WHEEL_SIZE - 1));
+	}
+	
+	private static long cell(int cellX, int cellZ) {
+		return (long) cellX << 32 | (cellZ & 0xFFFFFFFFL);
+	}
+}
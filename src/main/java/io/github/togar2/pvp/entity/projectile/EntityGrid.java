@@ -0,0 +1,221 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid of the entities in an instance, used as broadphase for projectile hit detection.
+ * <p>
+ * The grid is built once per tick of the instance, when the first projectile needs it.
+ * Entities are put in the column of cells containing their position, after which every projectile only
+ * has to look at the entities in the cells around its path, instead of querying the entity tracker.
+ * Because entities can move after the grid has been built, the current position and bounding box of the entities
+ * are used for the actual (swept) collision test, and the cells around a path are searched with a margin.
+ * <p>
+ * All entities are indexed, it is up to the user of the grid to filter them
+ * (projectiles use {@link CustomEntityProjectile#canHit(Entity)}, so overriding it works the same as before).
+ * An entity which moves further than the margin ({@value #MARGIN} blocks) after the grid has been built,
+ * for example because it is teleported, is searched for at its old position until the grid is built again the next tick.
+ */
+final class EntityGrid {
+	private static final Tag<EntityGrid> TAG = Tag.Transient("projectileEntityGrid");
+	static final int CELL_SHIFT = 2; // Cells of 4x4 blocks
+	static final double MARGIN = 2;
+	
+	private final Instance instance;
+	private long tick = -1;
+	
+	private final Long2IntOpenHashMap heads = new Long2IntOpenHashMap();
+	private Entity[] entities = new Entity[64];
+	private int[] next = new int[64];
+	private int size = 0;
+	private double maxExtent = 0;
+	
+	private EntityGrid(Instance instance) {
+		this.instance = instance;
+		heads.defaultReturnValue(-1);
+	}
+	
+	/**
+	 * Gets the entity grid of the given instance, building it if it has not been built yet this tick.
+	 *
+	 * @param instance the instance
+	 * @return the entity grid of the instance
+	 */
+	static EntityGrid of(Instance instance) {
+		EntityGrid grid = instance.getTag(TAG);
+		if (grid == null) grid = instance.updateAndGetTag(TAG, current -> current == null ? new EntityGrid(instance) : current);
+		
+		synchronized (grid) {
+			long tick = instance.getWorldAge();
+			if (grid.tick != tick) {
+				grid.tick = tick;
+				grid.build();
+			}
+		}
+		
+		return grid;
+	}
+	
+	private void build() {
+		Arrays.fill(entities, 0, size, null);
+		heads.clear();
+		size = 0;
+		maxExtent = 0;
+		
+		for (Entity entity : instance.getEntityTracker().entities()) {
+			if (size == entities.length) {
+				entities = Arrays.copyOf(entities, size * 2);
+				next = Arrays.copyOf(next, size * 2);
+			}
+			
+			Pos position = entity.getPosition();
+			long cell = cell((int) Math.floor(position.x()) >> CELL_SHIFT, (int) Math.floor(position.z()) >> CELL_SHIFT);
+			entities[size] = entity;
+			next[size] = heads.put(cell, size);
+			size++;
+			
+			BoundingBox box = entity.getBoundingBox();
+			maxExtent = Math.max(maxExtent, Math.max(box.width(), box.depth()));
+		}
+	}
+	
+	/**
+	 * Finds the first entity a projectile hits while moving.
+	 *
+	 * @param projectile the projectile, used to filter the entities it can hit
+	 * @param width the width of the box of the projectile used for hit detection, centered on the path
+	 * @param height the height of the box of the projectile used for hit detection, starting at the path
+	 * @param depth the depth of the box of the projectile used for hit detection, centered on the path
+	 * @param x the x coordinate of the start of the path
+	 * @param y the y coordinate of the start of the path
+	 * @param z the z coordinate of the start of the path
+	 * @param dx the movement along the x axis
+	 * @param dy the movement along the y axis
+	 * @param dz the movement along the z axis
+	 * @param maxFraction the fraction of the path after which hits are ignored, for example because a block is hit first
+	 * @return the hit, or null if no entity is hit
+	 */
+	@Nullable Hit sweep(CustomEntityProjectile projectile, double width, double height, double depth,
+	                    double x, double y, double z, double dx, double dy, double dz, double maxFraction) {
+		if (size == 0) return null;
+		
+		double halfWidth = width / 2, halfDepth = depth / 2;
+		double margin = maxExtent / 2 + MARGIN;
+		int minCellX = (int) Math.floor(x - halfWidth + Math.min(dx, 0) - margin) >> CELL_SHIFT;
+		int maxCellX = (int) Math.floor(x + halfWidth + Math.max(dx, 0) + margin) >> CELL_SHIFT;
+		int minCellZ = (int) Math.floor(z - halfDepth + Math.min(dz, 0) - margin) >> CELL_SHIFT;
+		int maxCellZ = (int) Math.floor(z + halfDepth + Math.max(dz, 0) + margin) >> CELL_SHIFT;
+		
+		boolean noCollideShooter = projectile.getAliveTicks() < 6;
+		Entity closest = null;
+		double closestFraction = maxFraction;
+		
+		for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+			for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+				for (int i = heads.get(cell(cellX, cellZ)); i != -1; i = next[i]) {
+					Entity entity = entities[i];
+					if (!projectile.canCollideWith(entity, noCollideShooter)) continue;
+					
+					double fraction = sweep(halfWidth, height, halfDepth, x, y, z, dx, dy, dz, entity);
+					if (fraction >= 0 && fraction <= closestFraction) {
+						closest = entity;
+						closestFraction = fraction;
+					}
+				}
+			}
+		}
+		
+		if (closest == null) return null;
+		return new Hit(closest, new Vec(x + dx * closestFraction, y + dy * closestFraction, z + dz * closestFraction));
+	}
+	
+	/**
+	 * Gets the index of the first entity in a cell, the other entities are found using {@link #next(int)}.
+	 *
+	 * @param cell the cell, see {@link #cell(int, int)}
+	 * @return the index of the entity, or -1 if the cell is empty
+	 */
+	int first(long cell) {
+		return heads.get(cell);
+	}
+	
+	/**
+	 * Gets the index of the next entity in the same cell.
+	 *
+	 * @return the index of the entity, or -1 if there are no more entities in the cell
+	 */
+	int next(int index) {
+		return next[index];
+	}
+	
+	Entity get(int index) {
+		return entities[index];
+	}
+	
+	/**
+	 * Swept AABB test of a moving box against the current bounding box of an entity.
+	 *
+	 * @return the fraction of the movement at which the boxes start to intersect, or -1 if they never do
+	 */
+	private static double sweep(double halfWidth, double height, double halfDepth, double x, double y, double z,
+	                            double dx, double dy, double dz, Entity entity) {
+		Pos position = entity.getPosition();
+		BoundingBox entityBox = entity.getBoundingBox();
+		
+		// The entity box grown by the moving box, which makes the moving box a point
+		double enter = 0, exit = 1;
+		
+		double min = position.x() + entityBox.minX() - halfWidth;
+		double max = position.x() + entityBox.maxX() + halfWidth;
+		if (dx == 0) {
+			if (x < min || x > max) return -1;
+		} else {
+			double near = (min - x) / dx, far = (max - x) / dx;
+			enter = Math.max(enter, Math.min(near, far));
+			exit = Math.min(exit, Math.max(near, far));
+		}
+		
+		min = position.y() + entityBox.minY() - height;
+		max = position.y() + entityBox.maxY();
+		if (dy == 0) {
+			if (y < min || y > max) return -1;
+		} else {
+			double near = (min - y) / dy, far = (max - y) / dy;
+			enter = Math.max(enter, Math.min(near, far));
+			exit = Math.min(exit, Math.max(near, far));
+		}
+		
+		min = position.z() + entityBox.minZ() - halfDepth;
+		max = position.z() + entityBox.maxZ() + halfDepth;
+		if (dz == 0) {
+			if (z < min || z > max) return -1;
+		} else {
+			double near = (min - z) / dz, far = (max - z) / dz;
+			enter = Math.max(enter, Math.min(near, far));
+			exit = Math.min(exit, Math.max(near, far));
+		}
+		
+		return enter <= exit ? enter : -1;
+	}
+	
+	static long cell(int cellX, int cellZ) {
+		return (long) cellX << 32 | (cellZ & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * An entity hit by a projectile.
+	 *
+	 * @param entity the entity which was hit
+	 * @param collisionPoint the position of the projectile box when it hit the entity
+	 */
+	record Hit(Entity entity, Vec collisionPoint) {}
+}
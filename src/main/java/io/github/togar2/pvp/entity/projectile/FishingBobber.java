@@ -2,6 +2,7 @@ package io.github.togar2.pvp.entity.projectile;
 
 import io.github.togar2.pvp.feature.projectile.VanillaFishingRodFeature;
 import net.minestom.server.ServerFlag;
+import net.minestom.server.collision.Aerodynamics;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.*;
@@ -12,11 +13,16 @@ import net.minestom.server.item.Material;
 import org.jetbrains.annotations.Nullable;
 
 public class FishingBobber extends CustomEntityProjectile {
+	// Gravity is applied manually before movement, see customGravity
+	// Minestom seems to like having wrong values in its registries, so the air resistance is set as well
+	private static final Aerodynamics AERODYNAMICS = new Aerodynamics(0, 0.92, 0.92);
+	
 	private final boolean legacy;
 	private int stuckTime;
 	private Entity hooked;
 	private State state = State.IN_AIR;
 	private Pos prevPos = Pos.ZERO;
+	private @Nullable Pos hookedPos;
 	
 	private final double customGravity;
 	
@@ -27,19 +33,37 @@ public class FishingBobber extends CustomEntityProjectile {
 		
 		// Custom gravity logic: gravity is applied before movement
 		customGravity = legacy ? 0.04 : 0.03;
-		setAerodynamics(getAerodynamics().withGravity(0));
-		
-		// Minestom seems to like having wrong values in its registries
-		setAerodynamics(getAerodynamics().withHorizontalAirResistance(0.92).withVerticalAirResistance(0.92));
+		setAerodynamics(AERODYNAMICS);
 	}
 	
 	@Override
 	public void tick(long time) {
 		prevPos = getPosition();
-		velocity = velocity.add(0, -customGravity * ServerFlag.SERVER_TICKS_PER_SECOND, 0);
+		if (isFollowingHooked()) {
+			velocity = Vec.ZERO;
+		} else {
+			velocity = velocity.add(0, -customGravity * ServerFlag.SERVER_TICKS_PER_SECOND, 0);
+		}
 		super.tick(time);
 	}
 	
+	@Override
+	protected void movementTick() {
+		// The position follows the hooked entity, see followHooked
+		if (isFollowingHooked()) return;
+		super.movementTick();
+	}
+	
+	private boolean isFollowingHooked() {
+		return state == State.HOOKED_ENTITY && hooked != null;
+	}
+	
+	@Override
+	protected boolean usesProjectileSystem() {
+		// Gravity is applied in tick, before the movement
+		return false;
+	}
+	
 	@Override
 	public void update(long time) {
 		if (!(getShooter() instanceof Player shooter)) {
@@ -72,14 +96,36 @@ public class FishingBobber extends CustomEntityProjectile {
 						setNoGravity(false);
 						state = State.IN_AIR;
 					} else {
-						Pos hookedPos = hooked.getPosition();
-						teleport(hookedPos.withY(hookedPos.y() + hooked.getBoundingBox().height() * 0.8));
+						followHooked();
 					}
 				}
 			}
 		}
 	}
 	
+	/**
+	 * Moves this bobber to the entity it has hooked, if that entity has moved.
+	 * While following, the bobber does not move on its own (see {@link #movementTick()}).
+	 * Viewers get the hooked entity from the metadata and attach the bobber to it themselves,
+	 * so only the position on the server is updated and no packets are sent.
+	 */
+	private void followHooked() {
+		Pos position = hooked.getPosition();
+		if (hookedPos != null && position.samePoint(hookedPos)) return;
+		hookedPos = position;
+		
+		refreshPosition(this.position.withCoord(position.x(),
+				position.y() + hooked.getBoundingBox().height() * 0.8, position.z()), true, false);
+	}
+	
+	@Override
+	protected void synchronizePosition() {
+		// Viewers move the bobber with the hooked entity on their own
+		if (isFollowingHooked()) return;
+		
+		super.synchronizePosition();
+	}
+	
 	@Override
 	public boolean onHit(Entity entity) {
 		if (hooked != null) return false;
@@ -103,6 +149,7 @@ public class FishingBobber extends CustomEntityProjectile {
 	
 	private void setHookedEntity(@Nullable Entity entity) {
 		this.hooked = entity;
+		this.hookedPos = null;
 		((FishingHookMeta) getEntityMeta()).setHookedEntity(entity);
 	}
 	
@@ -0,0 +1,52 @@
+package io.github.togar2.pvp.entity.projectile;
+
+/**
+ * Decides when the position of a flying {@link CustomEntityProjectile} is synchronized with its viewers.
+ * <p>
+ * Viewers move projectiles on their own, using the velocity they last received and applying drag and gravity every tick.
+ * A projectile keeps track of where its viewers are predicted to see it since the last synchronization,
+ * and asks its policy every tick whether the difference with its actual position (the error) is worth a packet.
+ * Flying projectiles never send relative move packets, so the synchronization is their only position update.
+ * <p>
+ * See {@link CustomEntityProjectile#setSyncPolicy(ProjectileSyncPolicy)}.
+ */
+@FunctionalInterface
+public interface ProjectileSyncPolicy {
+	/**
+	 * Synchronizes every {@link CustomEntityProjectile#getUpdateInterval()} ticks, regardless of the error.
+	 */
+	ProjectileSyncPolicy FIXED = (projectile, error, ticksSinceSync) -> ticksSinceSync >= projectile.getUpdateInterval();
+	/**
+	 * Synchronizes when the error is more than 0.1 blocks or after 40 ticks,
+	 * both scaled up by the distance to the nearest viewer (doubled at 32 blocks).
+	 */
+	ProjectileSyncPolicy ADAPTIVE = adaptive(0.1, 40, 32);
+	
+	/**
+	 * Creates a policy which synchronizes when the error exceeds a threshold or when a maximum interval has passed.
+	 * Both are multiplied by {@code 1 + distance / distanceScale}, where distance is the distance to the nearest viewer,
+	 * so far away projectiles are synchronized less often.
+	 * Projectiles without viewers are always synchronized, which costs nothing and resets the prediction.
+	 *
+	 * @param threshold the error (in blocks) above which the projectile is synchronized
+	 * @param maxInterval the maximum amount of ticks between synchronizations
+	 * @param distanceScale the viewer distance at which the threshold and interval are doubled
+	 * @return the adaptive policy
+	 */
+	static ProjectileSyncPolicy adaptive(double threshold, int maxInterval, double distanceScale) {
+		if (threshold < 0) throw new IllegalArgumentException("Threshold must not be negative");
+		if (maxInterval <= 0) throw new IllegalArgumentException("Max interval must be positive");
+		if (distanceScale <= 0) throw new IllegalArgumentException("Distance scale must be positive");
+		return new AdaptiveSyncPolicy(threshold, maxInterval, distanceScale);
+	}
+	
+	/**
+	 * Checks whether a projectile should be synchronized this tick.
+	 *
+	 * @param projectile the projectile
+	 * @param error the distance (in blocks) between the actual position and the position viewers are predicted to see
+	 * @param ticksSinceSync the amount of ticks since the last synchronization, at least 1
+	 * @return true to send the position to the viewers
+	 */
+	boolean shouldSynchronize(CustomEntityProjectile projectile, double error, int ticksSinceSync);
+}
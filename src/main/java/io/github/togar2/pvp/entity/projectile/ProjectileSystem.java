@@ -0,0 +1,324 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import io.github.togar2.pvp.utils.BlockTraits;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.collision.Aerodynamics;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.WorldBorder;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import net.minestom.server.utils.chunk.ChunkCache;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Moves all the projectiles of an instance in a single pass every tick, instead of every projectile moving itself.
+ * <p>
+ * The state of the projectiles in flight (position, velocity, gravity and drag) is stored in arrays.
+ * Every tick, the path of every projectile is traced through a chunk cache shared by all projectiles:
+ * when it only passes through blocks without collision (see {@link BlockTraits#NO_COLLISION}) and no entity is hit
+ * (which is checked using the {@link EntityGrid} of the instance),
+ * the projectile is moved using the arrays only. The only objects allocated for such a projectile are its new
+ * position and velocity, which the entity needs anyway. Otherwise, the regular movement code of the projectile is used,
+ * so {@link CustomEntityProjectile#onHit(net.minestom.server.entity.Entity)} and
+ * {@link CustomEntityProjectile#onStuck()} are only called when something actually happens.
+ * <p>
+ * The system is opt-in, see {@link #enable(Instance)}. Only projectiles which are spawned in the instance
+ * after enabling are moved by the system, and projectiles can opt out using
+ * {@link CustomEntityProjectile#usesProjectileSystem()}.
+ * The system should only be used from the thread ticking the instance.
+ */
+public final class ProjectileSystem {
+	private static final Tag<ProjectileSystem> TAG = Tag.Transient("projectileSystem");
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private final Instance instance;
+	private final Task task;
+	
+	private CustomEntityProjectile[] projectiles = new CustomEntityProjectile[INITIAL_CAPACITY];
+	private int size = 0;
+	private boolean ticking = false;
+	private boolean hasHoles = false;
+	
+	private double[] x = new double[INITIAL_CAPACITY];
+	private double[] y = new double[INITIAL_CAPACITY];
+	private double[] z = new double[INITIAL_CAPACITY];
+	private double[] velocityX = new double[INITIAL_CAPACITY];
+	private double[] velocityY = new double[INITIAL_CAPACITY];
+	private double[] velocityZ = new double[INITIAL_CAPACITY];
+	private double[] gravity = new double[INITIAL_CAPACITY];
+	private double[] horizontalDrag = new double[INITIAL_CAPACITY];
+	private double[] verticalDrag = new double[INITIAL_CAPACITY];
+	
+	// The objects the state was read from, used to detect changes made outside of the system (like setVelocity)
+	private Pos[] positionSources = new Pos[INITIAL_CAPACITY];
+	private Vec[] velocitySources = new Vec[INITIAL_CAPACITY];
+	private Aerodynamics[] aerodynamicsSources = new Aerodynamics[INITIAL_CAPACITY];
+	
+	private ProjectileSystem(Instance instance) {
+		this.instance = instance;
+		this.task = instance.scheduler().submitTask(() -> {
+			tick();
+			return TaskSchedule.nextTick();
+		});
+	}
+	
+	/**
+	 * Enables the projectile system in the given instance, if it is not enabled yet.
+	 *
+	 * @param instance the instance
+	 * @return the projectile system of the instance
+	 */
+	public static ProjectileSystem enable(Instance instance) {
+		ProjectileSystem system = instance.getTag(TAG);
+		if (system == null) {
+			system = new ProjectileSystem(instance);
+			instance.setTag(TAG, system);
+		}
+		
+		return system;
+	}
+	
+	/**
+	 * Gets the projectile system of the given instance.
+	 *
+	 * @param instance the instance
+	 * @return the projectile system, or null if it is not enabled in the instance
+	 */
+	public static @Nullable ProjectileSystem get(Instance instance) {
+		return instance.getTag(TAG);
+	}
+	
+	/**
+	 * Disables this projectile system, after which all its projectiles move themselves again.
+	 */
+	public void disable() {
+		task.cancel();
+		instance.removeTag(TAG);
+		
+		for (int i = 0; i < size; i++) {
+			CustomEntityProjectile projectile = projectiles[i];
+			if (projectile == null) continue;
+			projectile.projectileSystem = null;
+			projectile.projectileSystemSlot = -1;
+		}
+		
+		Arrays.fill(projectiles, 0, size, null);
+		size = 0;
+	}
+	
+	/**
+	 * Gets the amount of projectiles moved by this system.
+	 *
+	 * @return the amount of projectiles
+	 */
+	public int getProjectileCount() {
+		return size;
+	}
+	
+	void add(CustomEntityProjectile projectile) {
+		if (projectile.projectileSystem == this) return;
+		if (projectile.projectileSystem != null) projectile.projectileSystem.remove(projectile);
+		
+		if (size == projectiles.length) grow();
+		int slot = size++;
+		projectiles[slot] = projectile;
+		projectile.projectileSystem = this;
+		projectile.projectileSystemSlot = slot;
+		load(slot, projectile);
+	}
+	
+	void remove(CustomEntityProjectile projectile) {
+		if (projectile.projectileSystem != this) return;
+		int slot = projectile.projectileSystemSlot;
+		projectile.projectileSystem = null;
+		projectile.projectileSystemSlot = -1;
+		
+		if (ticking) {
+			// Keep the order of the slots intact while iterating, they are compacted after the pass
+			projectiles[slot] = null;
+			hasHoles = true;
+		} else {
+			moveSlot(size - 1, slot);
+			projectiles[--size] = null;
+		}
+	}
+	
+	private void tick() {
+		if (size == 0) return;
+		
+		ChunkCache blocks = new ChunkCache(instance, null, Block.AIR);
+		WorldBorder worldBorder = instance.getWorldBorder();
+		double voidY = instance.getCachedDimensionType().minY() - 64;
+		int tps = ServerFlag.SERVER_TICKS_PER_SECOND;
+		
+		ticking = true;
+		try {
+			for (int i = 0; i < size; i++) {
+				CustomEntityProjectile projectile = projectiles[i];
+				if (projectile == null || projectile.isRemoved()
+						|| projectile.getVehicle() != null || projectile.isStuck()) continue;
+				
+				if (projectile.getPosition() != positionSources[i] || projectile.getVelocity() != velocitySources[i]
+						|| projectile.getAerodynamics() != aerodynamicsSources[i]) {
+					load(i, projectile);
+				}
+				
+				double diffX = velocityX[i] / tps;
+				double diffY = velocityY[i] / tps;
+				double diffZ = velocityZ[i] / tps;
+				double newX = x[i] + diffX;
+				double newY = y[i] + diffY;
+				double newZ = z[i] + diffZ;
+				
+				if (projectile.noClip || y[i] < voidY
+						|| !instance.isChunkLoaded((int) Math.floor(newX) >> 4, (int) Math.floor(newZ) >> 4)
+						|| !isPathClear(blocks, x[i], y[i], z[i], newX, newY, newZ)) {
+					moveRegular(i, projectile, blocks);
+					continue;
+				}
+				
+				Pos newPosition = new Pos(newX, newY, newZ);
+				if (!worldBorder.inBounds(newPosition) || projectile.findEntityHit(diffX, diffY, diffZ, 1) != null) {
+					moveRegular(i, projectile, blocks);
+					continue;
+				}
+				
+				double gravity = projectile.hasNoGravity() ? 0 : this.gravity[i] * tps;
+				velocityX[i] *= horizontalDrag[i];
+				velocityY[i] = velocityY[i] * verticalDrag[i] - gravity;
+				velocityZ[i] *= horizontalDrag[i];
+				x[i] = newX;
+				y[i] = newY;
+				z[i] = newZ;
+				
+				projectile.moveUnobstructed(newPosition, new Vec(velocityX[i], velocityY[i], velocityZ[i]),
+						diffX, diffY, diffZ);
+				positionSources[i] = projectile.getPosition();
+				velocitySources[i] = projectile.getVelocity();
+			}
+		} finally {
+			ticking = false;
+			if (hasHoles) compact();
+		}
+	}
+	
+	/**
+	 * Moves a projectile using its regular movement code, which handles collisions.
+	 */
+	private void moveRegular(int slot, CustomEntityProjectile projectile, ChunkCache blocks) {
+		projectile.move(blocks);
+		if (projectiles[slot] == projectile) load(slot, projectile);
+	}
+	
+	/**
+	 * Checks whether a point moving in a straight line only passes through blocks without collision.
+	 * The blocks are visited using a voxel traversal, the block below every visited block is checked for fences.
+	 */
+	private static boolean isPathClear(Block.Getter blocks, double startX, double startY, double startZ,
+	                                   double endX, double endY, double endZ) {
+		int blockX = (int) Math.floor(startX), blockY = (int) Math.floor(startY), blockZ = (int) Math.floor(startZ);
+		int endBlockX = (int) Math.floor(endX), endBlockY = (int) Math.floor(endY), endBlockZ = (int) Math.floor(endZ);
+		
+		double dx = endX - startX, dy = endY - startY, dz = endZ - startZ;
+		int stepX = dx > 0 ? 1 : -1, stepY = dy > 0 ? 1 : -1, stepZ = dz > 0 ? 1 : -1;
+		double deltaX = dx == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dx);
+		double deltaY = dy == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dy);
+		double deltaZ = dz == 0 ? Double.POSITIVE_INFINITY : Math.abs(1 / dz);
+		double maxX = dx == 0 ? Double.POSITIVE_INFINITY : (dx > 0 ? blockX + 1 - startX : startX - blockX) * deltaX;
+		double maxY = dy == 0 ? Double.POSITIVE_INFINITY : (dy > 0 ? blockY + 1 - startY : startY - blockY) * deltaY;
+		double maxZ = dz == 0 ? Double.POSITIVE_INFINITY : (dz > 0 ? blockZ + 1 - startZ : startZ - blockZ) * deltaZ;
+		
+		int steps = Math.abs(endBlockX - blockX) + Math.abs(endBlockY - blockY) + Math.abs(endBlockZ - blockZ);
+		for (int i = 0; ; i++) {
+			if (!BlockTraits.has(blocks.getBlock(blockX, blockY, blockZ, Block.Getter.Condition.TYPE), BlockTraits.NO_COLLISION)
+					|| BlockTraits.has(blocks.getBlock(blockX, blockY - 1, blockZ, Block.Getter.Condition.TYPE), BlockTraits.FENCE_LIKE))
+				return false;
+			if (i == steps) return true;
+			
+			if (maxX < maxY && maxX < maxZ) {
+				blockX += stepX;
+				maxX += deltaX;
+			} else if (maxY < maxZ) {
+				blockY += stepY;
+				maxY += deltaY;
+			} else {
+				blockZ += stepZ;
+				maxZ += deltaZ;
+			}
+		}
+	}
+	
+	private void load(int slot, CustomEntityProjectile projectile) {
+		Pos position = projectile.getPosition();
+		Vec velocity = projectile.getVelocity();
+		Aerodynamics aerodynamics = projectile.getAerodynamics();
+		
+		x[slot] = position.x();
+		y[slot] = position.y();
+		z[slot] = position.z();
+		velocityX[slot] = velocity.x();
+		velocityY[slot] = velocity.y();
+		velocityZ[slot] = velocity.z();
+		gravity[slot] = aerodynamics.gravity();
+		horizontalDrag[slot] = aerodynamics.horizontalAirResistance();
+		verticalDrag[slot] = aerodynamics.verticalAirResistance();
+		
+		positionSources[slot] = position;
+		velocitySources[slot] = velocity;
+		aerodynamicsSources[slot] = aerodynamics;
+	}
+	
+	private void moveSlot(int from, int to) {
+		if (from == to) return;
+		
+		CustomEntityProjectile projectile = projectiles[from];
+		projectiles[to] = projectile;
+		if (projectile != null) projectile.projectileSystemSlot = to;
+		x[to] = x[from];
+		y[to] = y[from];
+		z[to] = z[from];
+		velocityX[to] = velocityX[from];
+		velocityY[to] = velocityY[from];
+		velocityZ[to] = velocityZ[from];
+		gravity[to] = gravity[from];
+		horizontalDrag[to] = horizontalDrag[from];
+		verticalDrag[to] = verticalDrag[from];
+		positionSources[to] = positionSources[from];
+		velocitySources[to] = velocitySources[from];
+		aerodynamicsSources[to] = aerodynamicsSources[from];
+	}
+	
+	private void compact() {
+		int newSize = 0;
+		for (int i = 0; i < size; i++) {
+			if (projectiles[i] != null) moveSlot(i, newSize++);
+		}
+		
+		Arrays.fill(projectiles, newSize, size, null);
+		size = newSize;
+		hasHoles = false;
+	}
+	
+	private void grow() {
+		int capacity = projectiles.length * 2;
+		projectiles = Arrays.copyOf(projectiles, capacity);
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		z = Arrays.copyOf(z, capacity);
+		velocityX = Arrays.copyOf(velocityX, capacity);
+		velocityY = Arrays.copyOf(velocityY, capacity);
+		velocityZ = Arrays.copyOf(velocityZ, capacity);
+		gravity = Arrays.copyOf(gravity, capacity);
+		horizontalDrag = Arrays.copyOf(horizontalDrag, capacity);
+		verticalDrag = Arrays.copyOf(verticalDrag, capacity);
+		positionSources = Arrays.copyOf(positionSources, capacity);
+		velocitySources = Arrays.copyOf(velocitySources, capacity);
+		aerodynamicsSources = Arrays.copyOf(aerodynamicsSources, capacity);
+	}
+}
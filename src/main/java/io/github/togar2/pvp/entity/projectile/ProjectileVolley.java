@@ -0,0 +1,97 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.network.packet.server.play.BundlePacket;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spawns multiple projectiles at once, like a crossbow with multishot or a shotgun-style weapon.
+ * <p>
+ * Projectiles are added with their velocity already set, and are spawned together by {@link #launch()}.
+ * Instead of sending the spawn packets of every projectile separately as soon as it is spawned,
+ * the packets for all projectiles are sent to every viewer in a single bundle, so the client processes them in the same frame.
+ * Because the velocity is known before spawning it is part of the spawn packet,
+ * which means no separate velocity packets are sent.
+ * <p>
+ * A volley must be launched from the thread ticking the instance, and can only be launched once.
+ */
+public final class ProjectileVolley {
+	private final Instance instance;
+	private final List<CustomEntityProjectile> projectiles = new ArrayList<>();
+	private final List<Pos> positions = new ArrayList<>();
+	private final Map<Player, List<CustomEntityProjectile>> pending = new LinkedHashMap<>();
+	private boolean launched = false;
+	
+	public ProjectileVolley(Instance instance) {
+		this.instance = instance;
+	}
+	
+	/**
+	 * Adds a projectile to this volley, which will be spawned at the given position when the volley is launched.
+	 * The projectile should already be shot, so its velocity is sent with the spawn packet.
+	 *
+	 * @param projectile the projectile, which must not be spawned yet
+	 * @param spawnPosition the position to spawn the projectile at
+	 * @return this volley
+	 */
+	public ProjectileVolley add(CustomEntityProjectile projectile, Pos spawnPosition) {
+		if (launched) throw new IllegalStateException("Volley has already been launched");
+		if (projectile.getInstance() != null) throw new IllegalArgumentException("Projectile has already been spawned");
+		projectiles.add(projectile);
+		positions.add(spawnPosition);
+		return this;
+	}
+	
+	/**
+	 * Spawns all the projectiles of this volley and sends them to their viewers.
+	 */
+	public void launch() {
+		if (launched) throw new IllegalStateException("Volley has already been launched");
+		launched = true;
+		
+		for (int i = 0; i < projectiles.size(); i++) {
+			CustomEntityProjectile projectile = projectiles.get(i);
+			projectile.volley = this;
+			projectile.setInstance(instance, positions.get(i));
+		}
+		
+		// Projectiles in chunks which are not loaded yet are spawned later, without this volley
+		for (CustomEntityProjectile projectile : projectiles) {
+			projectile.volley = null;
+		}
+		
+		for (Map.Entry<Player, List<CustomEntityProjectile>> entry : pending.entrySet()) {
+			Player viewer = entry.getKey();
+			List<CustomEntityProjectile> viewed = entry.getValue();
+			if (viewed.size() == 1) {
+				viewed.getFirst().sendSpawnPackets(viewer);
+				continue;
+			}
+			
+			viewer.sendPacket(new BundlePacket());
+			for (CustomEntityProjectile projectile : viewed) {
+				projectile.sendSpawnPackets(viewer);
+			}
+			viewer.sendPacket(new BundlePacket());
+		}
+		
+		pending.clear();
+	}
+	
+	/**
+	 * Called when a projectile of this volley gets a new viewer while it is being spawned.
+	 */
+	void addViewer(CustomEntityProjectile projectile, Player viewer) {
+		pending.computeIfAbsent(viewer, ignored -> new ArrayList<>()).add(projectile);
+	}
+	
+	public List<CustomEntityProjectile> getProjectiles() {
+		return List.copyOf(projectiles);
+	}
+}
@@ -0,0 +1,234 @@
+package io.github.togar2.pvp.entity.projectile;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Limits the amount of resting (stuck) arrows and tridents in an instance, and optionally per chunk.
+ * When a limit is exceeded, the arrows which have been resting the longest are removed first.
+ * <p>
+ * Resting arrows are kept in ring buffers in the order they got stuck, so finding the oldest one never
+ * requires scanning entities. Arrows which stop resting (because they are picked up, removed or unstuck)
+ * are not removed from the ring buffers right away, their entries are skipped when they are reached.
+ * <p>
+ * Limits are only enforced in instances where {@link #of(Instance)} has been used.
+ * Use {@link #setExemption(Predicate)} to exclude projectiles from the limits, by default thrown tridents are exempt.
+ */
+public final class RestingProjectiles {
+	private static final Tag<RestingProjectiles> TAG = Tag.Transient("restingProjectiles");
+	private static final long NO_CHUNK = Long.MIN_VALUE;
+	
+	private final Ring ring = new Ring();
+	private final Long2ObjectOpenHashMap<Ring> chunkRings = new Long2ObjectOpenHashMap<>();
+	private int maxResting = 1024;
+	private int maxRestingPerChunk = 0;
+	private Predicate<AbstractArrow> exemption = arrow -> arrow instanceof ThrownTrident;
+	
+	private long nextSequence = 1;
+	
+	private RestingProjectiles() {}
+	
+	/**
+	 * Gets the resting projectile limits of the given instance, creating them if they do not exist yet.
+	 *
+	 * @param instance the instance
+	 * @return the resting projectile limits of the instance
+	 */
+	public static RestingProjectiles of(Instance instance) {
+		RestingProjectiles resting = instance.getTag(TAG);
+		if (resting == null) {
+			resting = new RestingProjectiles();
+			instance.setTag(TAG, resting);
+		}
+		
+		return resting;
+	}
+	
+	static void onStuck(AbstractArrow arrow) {
+		Instance instance = arrow.getInstance();
+		if (instance == null) return;
+		RestingProjectiles resting = instance.getTag(TAG);
+		if (resting != null) resting.add(arrow);
+	}
+	
+	/**
+	 * Gets the maximum amount of resting arrows in the instance.
+	 *
+	 * @return the maximum amount of resting arrows
+	 */
+	public int getMaxResting() {
+		return maxResting;
+	}
+	
+	public void setMaxResting(int maxResting) {
+		if (maxResting <= 0) throw new IllegalArgumentException("Max resting must be positive");
+		this.maxResting = maxResting;
+	}
+	
+	/**
+	 * Gets the maximum amount of resting arrows in a single chunk.
+	 *
+	 * @return the maximum amount of resting arrows per chunk, 0 if there is no limit per chunk
+	 */
+	public int getMaxRestingPerChunk() {
+		return maxRestingPerChunk;
+	}
+	
+	public void setMaxRestingPerChunk(int maxRestingPerChunk) {
+		if (maxRestingPerChunk < 0) throw new IllegalArgumentException("Max resting per chunk cannot be negative");
+		this.maxRestingPerChunk = maxRestingPerChunk;
+	}
+	
+	/**
+	 * Sets which projectiles are exempt from the limits, they are never counted or removed.
+	 *
+	 * @param exemption the predicate returning true for exempt projectiles
+	 */
+	public void setExemption(Predicate<AbstractArrow> exemption) {
+		this.exemption = exemption;
+	}
+	
+	/**
+	 * Gets the amount of resting arrows counted towards the limit of the instance.
+	 *
+	 * @return the amount of resting arrows
+	 */
+	public int size() {
+		return ring.size;
+	}
+	
+	private void add(AbstractArrow arrow) {
+		if (arrow.resting != null || exemption.test(arrow)) return;
+		
+		Pos position = arrow.getPosition();
+		long chunk = (long) position.chunkX() << 32 | (position.chunkZ() & 0xFFFFFFFFL);
+		long sequence = nextSequence++;
+		arrow.resting = this;
+		arrow.restingChunk = maxRestingPerChunk > 0 ? chunk : NO_CHUNK;
+		arrow.restingSequence = sequence;
+		
+		ring.add(arrow, sequence, this);
+		while (ring.size > maxResting) {
+			evict(ring);
+		}
+		
+		if (maxRestingPerChunk > 0) {
+			Ring chunkRing = chunkRings.get(chunk);
+			if (chunkRing == null) {
+				chunkRing = new Ring();
+				chunkRings.put(chunk, chunkRing);
+			}
+			
+			chunkRing.add(arrow, sequence, this);
+			while (chunkRing.size > maxRestingPerChunk) {
+				evict(chunkRing);
+			}
+		}
+	}
+	
+	/**
+	 * Called when an arrow stops resting, its entries in the ring buffers become invalid.
+	 */
+	void remove(AbstractArrow arrow) {
+		if (arrow.resting != this) return;
+		arrow.resting = null;
+		
+		ring.size--;
+		if (arrow.restingChunk == NO_CHUNK) return;
+		Ring chunkRing = chunkRings.get(arrow.restingChunk);
+		if (chunkRing != null) {
+			chunkRing.size--;
+			if (chunkRing.size == 0) chunkRings.remove(arrow.restingChunk);
+		}
+	}
+	
+	private void evict(Ring ring) {
+		AbstractArrow oldest = ring.pollOldest(this);
+		if (oldest == null) return;
+		
+		// Removing the arrow also calls remove(AbstractArrow), which updates the sizes
+		oldest.remove();
+		if (oldest.resting == this) remove(oldest);
+	}
+	
+	/**
+	 * A growable ring buffer of arrows and the sequence number they had when they were added.
+	 * The size only counts the entries which are still valid.
+	 */
+	private static final class Ring {
+		private AbstractArrow[] arrows = new AbstractArrow[16];
+		private long[] sequences = new long[16];
+		private int head = 0;
+		private int entries = 0;
+		private int size = 0;
+		
+		private void add(AbstractArrow arrow, long sequence, RestingProjectiles owner) {
+			if (entries == arrows.length) {
+				// Drop the entries of arrows which stopped resting if they take up most of the buffer
+				if (size * 2 <= entries) {
+					compact(owner);
+				} else {
+					grow();
+				}
+			}
+			
+			int index = (head + entries) & (arrows.length - 1);
+			arrows[index] = arrow;
+			sequences[index] = sequence;
+			entries++;
+			size++;
+		}
+		
+		private AbstractArrow pollOldest(RestingProjectiles owner) {
+			while (entries > 0) {
+				AbstractArrow arrow = arrows[head];
+				long sequence = sequences[head];
+				arrows[head] = null;
+				head = (head + 1) & (arrows.length - 1);
+				entries--;
+				
+				if (arrow.resting == owner && arrow.restingSequence == sequence) return arrow;
+			}
+			
+			return null;
+		}
+		
+		private void compact(RestingProjectiles owner) {
+			int kept = 0;
+			for (int i = 0; i < entries; i++) {
+				int index = (head + i) & (arrows.length - 1);
+				AbstractArrow arrow = arrows[index];
+				long sequence = sequences[index];
+				arrows[index] = null;
+				if (arrow.resting != owner || arrow.restingSequence != sequence) continue;
+				
+				int target = (head + kept++) & (arrows.length - 1);
+				arrows[target] = arrow;
+				sequences[target] = sequence;
+			}
+			
+			entries = kept;
+		}
+		
+		private void grow() {
+			int capacity = arrows.length * 2;
+			AbstractArrow[] newArrows = new AbstractArrow[capacity];
+			long[] newSequences = new long[capacity];
+			for (int i = 0; i < entries; i++) {
+				int index = (head + i) & (arrows.length - 1);
+				newArrows[i] = arrows[index];
+				newSequences[i] = sequences[index];
+			}
+			
+			Arrays.fill(arrows, null);
+			arrows = newArrows;
+			sequences = newSequences;
+			head = 0;
+		}
+	}
+}
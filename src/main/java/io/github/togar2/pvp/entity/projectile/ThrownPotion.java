@@ -1,12 +1,16 @@
 package io.github.togar2.pvp.entity.projectile;
 
+import io.github.togar2.pvp.entity.EntityTypeTraits;
 import io.github.togar2.pvp.feature.effect.EffectFeature;
 import io.github.togar2.pvp.utils.EffectUtil;
+import io.github.togar2.pvp.utils.EntityUtil;
+import net.minestom.server.collision.Aerodynamics;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.*;
 import net.minestom.server.component.DataComponents;
 import net.minestom.server.entity.metadata.item.SplashPotionMeta;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.item.component.PotionContents;
@@ -17,17 +21,18 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class ThrownPotion extends CustomEntityProjectile implements ItemHoldingProjectile {
+	// Why does Minestom have the wrong value 0.03 in its registries?
+	private static final Aerodynamics AERODYNAMICS = new Aerodynamics(0.05, 0.99, 0.99);
+	
 	private final EffectFeature effectFeature;
 	
 	public ThrownPotion(@Nullable Entity shooter, EffectFeature effectFeature) {
 		super(shooter, EntityType.SPLASH_POTION);
 		this.effectFeature = effectFeature;
 		
-		// Why does Minestom have the wrong value 0.03 in its registries?
-		setAerodynamics(getAerodynamics().withGravity(0.05));
+		setAerodynamics(AERODYNAMICS);
 	}
 	
 	@Override
@@ -50,7 +55,7 @@ public class ThrownPotion extends CustomEntityProjectile implements ItemHoldingP
 		
 		if (!potions.isEmpty()) {
 			if (item.material() == Material.LINGERING_POTION) {
-				//TODO lingering
+				spawnCloud(potionContents);
 			} else {
 				applySplash(potionContents, entity);
 			}
@@ -74,20 +79,28 @@ public class ThrownPotion extends CustomEntityProjectile implements ItemHoldingP
 		);
 	}
 	
+	private void spawnCloud(PotionContents potionContents) {
+		AreaEffectCloud cloud = new AreaEffectCloud(getShooter(), potionContents, effectFeature);
+		cloud.setRadiusOnUse(-0.5f);
+		cloud.setWaitTime(10);
+		cloud.setRadiusPerTick(-cloud.getRadius() / cloud.getDuration());
+		cloud.setInstance(Objects.requireNonNull(getInstance()), getPosition());
+	}
+	
 	private void applySplash(PotionContents potionContents, @Nullable Entity hitEntity) {
 		BoundingBox boundingBox = getBoundingBox().expand(8.0, 4.0, 8.0);
-		List<LivingEntity> entities = Objects.requireNonNull(getInstance()).getEntities().stream()
-				.filter(entity -> boundingBox.intersectEntity(getPosition().add(0, -2, 0), entity))
-				.filter(entity -> entity instanceof LivingEntity
-						&& !(entity instanceof Player player && player.getGameMode() == GameMode.SPECTATOR))
-				.map(entity -> (LivingEntity) entity).collect(Collectors.toList());
+		List<LivingEntity> entities = EntityUtil.getEntitiesInBox(
+				Objects.requireNonNull(getInstance()), boundingBox,
+				getPosition().add(0, -2, 0), EntityTracker.Target.LIVING_ENTITIES
+		);
+		entities.removeIf(entity -> entity instanceof Player player && player.getGameMode() == GameMode.SPECTATOR);
 		
 		if (hitEntity instanceof LivingEntity && !entities.contains(hitEntity))
 			entities.add((LivingEntity) hitEntity);
 		if (entities.isEmpty()) return;
 		
 		for (LivingEntity entity : entities) {
-			if (entity.getEntityType() == EntityType.ARMOR_STAND) continue;
+			if (EntityTypeTraits.hasFlag(entity, EntityTypeTraits.POTION_IMMUNE)) continue;
 			
 			double distanceSquared = getDistanceSquared(entity);
 			if (distanceSquared >= 16.0) continue;
@@ -111,6 +111,12 @@ public class ThrownTrident extends AbstractArrow {
 				|| (isNoClip() && getShooter() == player && player.getInventory().addItemStack(tridentItem));
 	}
 	
+	@Override
+	protected boolean canSleep() {
+		// Loyal tridents have to keep checking whether they should return
+		return super.canSleep() && ((ThrownTridentMeta) getEntityMeta()).getLoyaltyLevel() <= 0;
+	}
+	
 	@Override
 	protected void tickRemoval() {
 		int loyalty = ((ThrownTridentMeta) getEntityMeta()).getLoyaltyLevel();
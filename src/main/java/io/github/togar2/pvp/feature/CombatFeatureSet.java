@@ -1,23 +1,64 @@
 package io.github.togar2.pvp.feature;
 
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
+import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventNode;
+import net.minestom.server.event.player.PlayerMoveEvent;
+import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * A container for multiple {@link CombatFeature}s. Use {@link CombatFeatureSet#createNode()} to get an event node.
+ * <p>
+ * All the {@link PlayerTickFeature}s of the set are ticked by a single {@link PlayerTickEvent} listener,
+ * and all the {@link PlayerMoveFeature}s share a single {@link PlayerMoveEvent} listener.
  */
 public class CombatFeatureSet extends FeatureConfiguration implements RegistrableFeature {
 	private boolean initialized = false;
 	
 	@Override
 	public void init(EventNode<EntityInstanceEvent> node) {
+		List<PlayerTickFeature> tickFeatures = new ArrayList<>();
+		List<PlayerMoveFeature> moveFeatures = new ArrayList<>();
 		for (CombatFeature feature : listFeatures()) {
+			if (feature instanceof PlayerTickFeature tickFeature) tickFeatures.add(tickFeature);
+			if (feature instanceof PlayerMoveFeature moveFeature) moveFeatures.add(moveFeature);
 			if (!(feature instanceof RegistrableFeature registrable)) continue;
-			node.addChild(registrable.createNode());
+			node.addChild(registrable.createListenerNode());
+		}
+		
+		if (!tickFeatures.isEmpty()) {
+			PlayerTickFeature[] features = sortByPriority(tickFeatures).toArray(PlayerTickFeature[]::new);
+			node.addListener(PlayerTickEvent.class, event -> {
+				Player player = event.getPlayer();
+				for (PlayerTickFeature feature : features) {
+					if (feature.needsTick(player)) feature.tick(player);
+				}
+			});
+		}
+		
+		if (!moveFeatures.isEmpty()) {
+			PlayerMoveFeature[] features = sortByPriority(moveFeatures).toArray(PlayerMoveFeature[]::new);
+			node.addListener(PlayerMoveEvent.class, event -> {
+				MoveContext context = MoveContext.of(event);
+				for (PlayerMoveFeature feature : features) {
+					feature.move(context);
+				}
+			});
 		}
 	}
 	
+	private static <T extends CombatFeature> List<T> sortByPriority(List<T> features) {
+		// Same order as the event nodes would have been called in
+		features.sort(Comparator.comparingInt(feature ->
+				feature instanceof RegistrableFeature registrable ? registrable.getPriority() : 0));
+		return features;
+	}
+	
 	@Override
 	public void initDependencies() {
 		for (CombatFeature feature : listFeatures()) {
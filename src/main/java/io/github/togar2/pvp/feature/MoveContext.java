@@ -0,0 +1,157 @@
+package io.github.togar2.pvp.feature;
+
+import io.github.togar2.pvp.utils.BlockTraits;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.GameMode;
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.player.PlayerMoveEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+
+/**
+ * The values of a single {@link PlayerMoveEvent} which are needed by multiple {@link PlayerMoveFeature}s.
+ * The new position and ground state are read from the event every time they are used,
+ * so changes made by earlier listeners (like {@link PlayerMoveEvent#setNewPosition(Pos)}) are seen.
+ * The blocks at the previous position are looked up when they are first needed and then reused.
+ * <p>
+ * Like in the event, {@link Player#getPosition()} is still the position before the movement.
+ * The blocks are those at that position.
+ * <p>
+ * Use {@link #of(PlayerMoveEvent)} to get the context of an event.
+ */
+public final class MoveContext {
+	private static final Tag<MoveContext> TAG = Tag.Transient("moveContext");
+	
+	private final PlayerMoveEvent event;
+	private final Player player;
+	private final Pos previousPosition;
+	private final boolean wasOnGround;
+	
+	private Block feetBlock;
+	
+	private MoveContext(PlayerMoveEvent event) {
+		this.event = event;
+		this.player = event.getPlayer();
+		this.previousPosition = player.getPosition();
+		this.wasOnGround = player.isOnGround();
+	}
+	
+	/**
+	 * Gets the context of the given event, creating it if it does not exist yet.
+	 * The context is shared between all the listeners of the same event.
+	 *
+	 * @param event the move event
+	 * @return the context of the event
+	 */
+	public static MoveContext of(PlayerMoveEvent event) {
+		Player player = event.getPlayer();
+		MoveContext context = player.getTag(TAG);
+		if (context == null || context.event != event) {
+			context = new MoveContext(event);
+			player.setTag(TAG, context);
+		}
+		
+		return context;
+	}
+	
+	public PlayerMoveEvent getEvent() {
+		return event;
+	}
+	
+	public Player getPlayer() {
+		return player;
+	}
+	
+	public Pos getPreviousPosition() {
+		return previousPosition;
+	}
+	
+	public Pos getNewPosition() {
+		return event.getNewPosition();
+	}
+	
+	public double dx() {
+		return event.getNewPosition().x() - previousPosition.x();
+	}
+	
+	public double dy() {
+		return event.getNewPosition().y() - previousPosition.y();
+	}
+	
+	public double dz() {
+		return event.getNewPosition().z() - previousPosition.z();
+	}
+	
+	public double horizontalDistance() {
+		double dx = dx(), dz = dz();
+		return Math.sqrt(dx * dx + dz * dz);
+	}
+	
+	public double distance() {
+		double dx = dx(), dy = dy(), dz = dz();
+		return Math.sqrt(dx * dx + dy * dy + dz * dz);
+	}
+	
+	/**
+	 * @return whether the player was on the ground before the movement
+	 */
+	public boolean wasOnGround() {
+		return wasOnGround;
+	}
+	
+	/**
+	 * @return whether the player is on the ground after the movement
+	 */
+	public boolean isOnGround() {
+		return event.isOnGround();
+	}
+	
+	/**
+	 * @return true if the player left the ground with this movement
+	 */
+	public boolean leftGround() {
+		return wasOnGround && !isOnGround();
+	}
+	
+	/**
+	 * @return true if the player landed on the ground with this movement
+	 */
+	public boolean landed() {
+		return !wasOnGround && isOnGround();
+	}
+	
+	/**
+	 * Gets the block at the feet of the player.
+	 *
+	 * @return the block at the feet of the player
+	 */
+	public Block getFeetBlock() {
+		if (feetBlock == null) {
+			Instance instance = player.getInstance();
+			feetBlock = instance == null ? Block.AIR : instance.getBlock(previousPosition);
+		}
+		
+		return feetBlock;
+	}
+	
+	/**
+	 * Checks whether the player is climbing, like in vanilla (which is never the case for spectators).
+	 *
+	 * @return true if the player is climbing
+	 */
+	public boolean isClimbing() {
+		return player.getGameMode() != GameMode.SPECTATOR
+				&& BlockTraits.has(getFeetBlock(), BlockTraits.CLIMBABLE);
+	}
+	
+	/**
+	 * Checks whether the feet of the player are in a water source block.
+	 * Flowing water does not count, this is what the swimming exhaustion has always checked.
+	 *
+	 * @return true if the player is in a water source block
+	 */
+	public boolean isInWaterSource() {
+		return getFeetBlock().stateId() == Block.WATER.stateId();
+	}
+}
@@ -0,0 +1,20 @@
+package io.github.togar2.pvp.feature;
+
+import net.minestom.server.event.player.PlayerMoveEvent;
+
+/**
+ * A {@link CombatFeature} which has to handle player movement.
+ * <p>
+ * Instead of every feature listening for {@link PlayerMoveEvent} on its own event node,
+ * {@link CombatFeatureSet} registers a single listener which creates one {@link MoveContext}
+ * and passes it to all the move features of the set, ordered by their priority (see {@link RegistrableFeature#getPriority()}).
+ * When the feature is used on its own, {@link RegistrableFeature#createNode()} registers the listener instead.
+ */
+public interface PlayerMoveFeature extends CombatFeature {
+	/**
+	 * Handles a movement of a player.
+	 *
+	 * @param context the context of the move event
+	 */
+	void move(MoveContext context);
+}
@@ -0,0 +1,32 @@
+package io.github.togar2.pvp.feature;
+
+import net.minestom.server.entity.Player;
+import net.minestom.server.event.player.PlayerTickEvent;
+
+/**
+ * A {@link CombatFeature} which has to do something every tick for every player.
+ * <p>
+ * Instead of every feature listening for {@link PlayerTickEvent} on its own event node,
+ * {@link CombatFeatureSet} registers a single listener which runs all the tick features of the set in one pass,
+ * ordered by their priority (see {@link RegistrableFeature#getPriority()}).
+ * When the feature is used on its own, {@link RegistrableFeature#createNode()} registers the listener instead.
+ */
+public interface PlayerTickFeature extends CombatFeature {
+	/**
+	 * Checks whether the given player has to be ticked by this feature.
+	 * This should be cheap, it allows skipping the tick for players which are idle for this feature.
+	 *
+	 * @param player the player
+	 * @return true if {@link #tick(Player)} should be called
+	 */
+	default boolean needsTick(Player player) {
+		return true;
+	}
+	
+	/**
+	 * Ticks the given player, called every tick if {@link #needsTick(Player)} returns true.
+	 *
+	 * @param player the player to tick
+	 */
+	void tick(Player player);
+}
@@ -3,6 +3,8 @@ package io.github.togar2.pvp.feature;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.event.EventFilter;
 import net.minestom.server.event.EventNode;
+import net.minestom.server.event.player.PlayerMoveEvent;
+import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 
@@ -34,10 +36,33 @@ public interface RegistrableFeature extends CombatFeature {
 	/**
 	 * Creates an event node with all the listeners of this feature attached.
 	 * This event node can on its turn be added to another node (e.g. the global one) to get the listeners working.
+	 * <p>
+	 * If this feature is a {@link PlayerTickFeature} or {@link PlayerMoveFeature}, the node will also contain
+	 * a {@link PlayerTickEvent} or {@link PlayerMoveEvent} listener for it.
+	 * {@link CombatFeatureSet} does not use this, since it handles these for all its features at once.
 	 *
 	 * @return the event node
 	 */
 	default EventNode<EntityInstanceEvent> createNode() {
+		var node = createListenerNode();
+		if (this instanceof PlayerTickFeature tickFeature) {
+			node.addListener(PlayerTickEvent.class, event -> {
+				if (tickFeature.needsTick(event.getPlayer())) tickFeature.tick(event.getPlayer());
+			});
+		}
+		if (this instanceof PlayerMoveFeature moveFeature) {
+			node.addListener(PlayerMoveEvent.class, event -> moveFeature.move(MoveContext.of(event)));
+		}
+		return node;
+	}
+	
+	/**
+	 * Creates an event node with the listeners added by {@link #init(EventNode)},
+	 * so without the listeners of a {@link PlayerTickFeature} or {@link PlayerMoveFeature}.
+	 *
+	 * @return the event node
+	 */
+	default EventNode<EntityInstanceEvent> createListenerNode() {
 		var node = EventNode.type(getClass().getTypeName(), ENTITY_INSTANCE_FILTER);
 		node.setPriority(getPriority());
 		init(node);
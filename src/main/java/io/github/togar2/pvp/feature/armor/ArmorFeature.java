@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.feature.armor;
 
+import io.github.togar2.pvp.damage.DamageTypeInfo;
 import io.github.togar2.pvp.feature.CombatFeature;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.damage.DamageType;
@@ -11,4 +12,12 @@ public interface ArmorFeature extends CombatFeature {
 	ArmorFeature NO_OP = (entity, type, amount) -> amount;
 	
 	float getDamageWithProtection(LivingEntity entity, DamageType type, float amount);
+	
+	/**
+	 * Same as {@link #getDamageWithProtection(LivingEntity, DamageType, float)},
+	 * but with the info of the damage type already looked up by the caller.
+	 */
+	default float getDamageWithProtection(LivingEntity entity, DamageType type, DamageTypeInfo info, float amount) {
+		return getDamageWithProtection(entity, type, amount);
+	}
 }
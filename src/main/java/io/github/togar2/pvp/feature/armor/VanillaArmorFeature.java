@@ -6,7 +6,6 @@ import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.utils.CombatVersion;
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.DamageType;
@@ -39,9 +38,13 @@ public class VanillaArmorFeature implements ArmorFeature {
 	
 	@Override
 	public float getDamageWithProtection(LivingEntity entity, DamageType type, float amount) {
-		DamageTypeInfo info = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(type));
+		return getDamageWithProtection(entity, type, DamageTypeInfo.of(type), amount);
+	}
+	
+	@Override
+	public float getDamageWithProtection(LivingEntity entity, DamageType type, DamageTypeInfo info, float amount) {
 		amount = getDamageWithArmor(entity, info, amount);
-		return getDamageWithEnchantments(entity, type, amount);
+		return getDamageWithEnchantments(entity, type, info, amount);
 	}
 	
 	protected float getDamageWithArmor(LivingEntity entity, DamageTypeInfo typeInfo, float amount) {
@@ -60,7 +63,11 @@ public class VanillaArmorFeature implements ArmorFeature {
 	}
 	
 	protected float getDamageWithEnchantments(LivingEntity entity, DamageType damageType, float amount) {
-		DamageTypeInfo damageTypeInfo = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(damageType));
+		return getDamageWithEnchantments(entity, damageType, DamageTypeInfo.of(damageType), amount);
+	}
+	
+	protected float getDamageWithEnchantments(LivingEntity entity, DamageType damageType,
+	                                          DamageTypeInfo damageTypeInfo, float amount) {
 		if (damageTypeInfo.unblockable()) return amount;
 		
 		int k;
@@ -15,6 +15,7 @@ import io.github.togar2.pvp.feature.item.ItemDamageFeature;
 import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
 import io.github.togar2.pvp.player.CombatPlayer;
 import io.github.togar2.pvp.utils.CombatVersion;
+import io.github.togar2.pvp.utils.LazyEventHandle;
 import io.github.togar2.pvp.utils.ViewUtil;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.sound.Sound;
@@ -24,7 +25,6 @@ import net.minestom.server.entity.*;
 import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.entity.damage.DamageType;
-import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.entity.EntityAttackEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
@@ -51,6 +51,9 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 
 	private static final double ATTACK_RANGE_MARGIN = 3.0;
 
+	private static final LazyEventHandle<PrepareAttackEvent> PREPARE_ATTACK_EVENT = new LazyEventHandle<>(PrepareAttackEvent.class);
+	private static final LazyEventHandle<FinalAttackEvent> FINAL_ATTACK_EVENT = new LazyEventHandle<>(FinalAttackEvent.class);
+
 	private final FeatureConfiguration configuration;
 
 	private AttackCooldownFeature cooldownFeature;
@@ -94,9 +97,11 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 
 	@Override
 	public boolean performAttack(LivingEntity attacker, Entity target) {
-		PrepareAttackEvent prepareAttackEvent = new PrepareAttackEvent(attacker, target);
-		EventDispatcher.call(prepareAttackEvent);
-		if (prepareAttackEvent.isCancelled()) return false;
+		if (PREPARE_ATTACK_EVENT.hasListener()) {
+			PrepareAttackEvent prepareAttackEvent = new PrepareAttackEvent(attacker, target);
+			PREPARE_ATTACK_EVENT.call(prepareAttackEvent);
+			if (prepareAttackEvent.isCancelled()) return false;
+		}
 		AttackValues.Final attack = prepareAttack(attacker, target);
 		if (attack == null) return false; // Event cancelled
 
@@ -246,20 +251,25 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 		boolean sweeping = preSounds.sweeping();
 
 		boolean sounds = version.modern();
+		boolean soundsOnFail = sounds;
 
 		// Call event which can modify attack values
-		FinalAttackEvent finalAttackEvent = new FinalAttackEvent(
-			attacker, target, sprintAttack, critical, sweeping, damage,
-			magicalDamage, sounds, sounds
-		);
-		EventDispatcher.call(finalAttackEvent);
-		if (finalAttackEvent.isCancelled()) return null;
-
-		sprintAttack = finalAttackEvent.isSprint();
-		critical = finalAttackEvent.isCritical();
-		sweeping = finalAttackEvent.isSweeping();
-		damage = finalAttackEvent.getBaseDamage();
-		magicalDamage = finalAttackEvent.getEnchantsExtraDamage();
+		if (FINAL_ATTACK_EVENT.hasListener()) {
+			FinalAttackEvent finalAttackEvent = new FinalAttackEvent(
+				attacker, target, sprintAttack, critical, sweeping, damage,
+				magicalDamage, sounds, sounds
+			);
+			FINAL_ATTACK_EVENT.call(finalAttackEvent);
+			if (finalAttackEvent.isCancelled()) return null;
+
+			sprintAttack = finalAttackEvent.isSprint();
+			critical = finalAttackEvent.isCritical();
+			sweeping = finalAttackEvent.isSweeping();
+			damage = finalAttackEvent.getBaseDamage();
+			magicalDamage = finalAttackEvent.getEnchantsExtraDamage();
+			sounds = finalAttackEvent.hasAttackSounds();
+			soundsOnFail = finalAttackEvent.playSoundsOnFail();
+		}
 
 		// Apply critical damage and knockback
 		if (critical) damage = criticalFeature.applyToDamage(damage);
@@ -270,8 +280,7 @@ public class VanillaAttackFeature implements AttackFeature, RegistrableFeature {
 		return new AttackValues.Final(
 			damage, strongAttack, sprintAttack, knockback, critical,
 			magicalDamage > 0, fireAspect, sweeping,
-			finalAttackEvent.hasAttackSounds(),
-			finalAttackEvent.playSoundsOnFail()
+			sounds, soundsOnFail
 		);
 	}
 }
@@ -1,6 +1,7 @@
 package io.github.togar2.pvp.feature.attack;
 
 import io.github.togar2.pvp.enchantment.EntityGroup;
+import io.github.togar2.pvp.entity.EntityTypeTraits;
 import io.github.togar2.pvp.enums.Tool;
 import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
@@ -10,7 +11,6 @@ import io.github.togar2.pvp.feature.knockback.KnockbackFeature;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.entity.Entity;
-import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.attribute.Attribute;
@@ -77,7 +77,7 @@ public class VanillaSweepingFeature implements SweepingFeature {
 		for (Entity nearbyEntity : target.getInstance().getNearbyEntities(target.getPosition(), 2)) {
 			if (nearbyEntity == target || nearbyEntity == attacker) continue;
 			if (!(nearbyEntity instanceof LivingEntity living)) continue;
-			if (nearbyEntity.getEntityType() == EntityType.ARMOR_STAND) continue;
+			if (EntityTypeTraits.hasFlag(nearbyEntity, EntityTypeTraits.SWEEP_IMMUNE)) continue;
 			if (!boundingBox.intersectEntity(target.getPosition(), nearbyEntity)) continue;
 			
 			// Apply sweeping knockback and damage to the entity
@@ -11,6 +11,7 @@ import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.cooldown.ItemCooldownFeature;
 import io.github.togar2.pvp.feature.item.ItemDamageFeature;
 import io.github.togar2.pvp.utils.CombatVersion;
+import io.github.togar2.pvp.utils.LazyEventHandle;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
@@ -22,7 +23,6 @@ import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.entity.metadata.LivingEntityMeta;
 import net.minestom.server.entity.metadata.projectile.AbstractArrowMeta;
-import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.item.Material;
 import net.minestom.server.sound.SoundEvent;
 
@@ -35,6 +35,8 @@ public class VanillaBlockFeature implements BlockFeature {
 			FeatureType.ITEM_DAMAGE, FeatureType.ITEM_COOLDOWN, FeatureType.VERSION
 	);
 	
+	private static final LazyEventHandle<DamageBlockEvent> DAMAGE_BLOCK_EVENT = new LazyEventHandle<>(DamageBlockEvent.class);
+	
 	private final FeatureConfiguration configuration;
 	
 	private ItemDamageFeature itemDamageFeature;
@@ -94,10 +96,16 @@ public class VanillaBlockFeature implements BlockFeature {
 		float amount = damage.getAmount();
 		float resultingDamage = version.legacy() ? Math.max(0, (amount + 1) * 0.5f) : 0;
 		
-		DamageBlockEvent damageBlockEvent = new DamageBlockEvent(entity, amount, resultingDamage, false);
-		EventDispatcher.call(damageBlockEvent);
-		if (damageBlockEvent.isCancelled()) return false;
-		damage.setAmount(damageBlockEvent.getResultingDamage());
+		boolean knockbackAttacker = false;
+		if (DAMAGE_BLOCK_EVENT.hasListener()) {
+			DamageBlockEvent damageBlockEvent = new DamageBlockEvent(entity, amount, resultingDamage, knockbackAttacker);
+			DAMAGE_BLOCK_EVENT.call(damageBlockEvent);
+			if (damageBlockEvent.isCancelled()) return false;
+			damage.setAmount(damageBlockEvent.getResultingDamage());
+			knockbackAttacker = damageBlockEvent.knockbackAttacker();
+		} else {
+			damage.setAmount(resultingDamage);
+		}
 		
 		if (amount >= 3) {
 			int shieldDamage = 1 + (int) Math.floor(amount);
@@ -121,7 +129,7 @@ public class VanillaBlockFeature implements BlockFeature {
 		// Take shield hit (knockback and disabling)
 		DamageTypeInfo info = DamageTypeInfo.of(damage.getType());
 		if (!info.projectile() && damage.getAttacker() instanceof LivingEntity attacker)
-			takeShieldHit(entity, attacker, damageBlockEvent.knockbackAttacker());
+			takeShieldHit(entity, attacker, knockbackAttacker);
 		
 		return resultingDamage == 0;
 	}
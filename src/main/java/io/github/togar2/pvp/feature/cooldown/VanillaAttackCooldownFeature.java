@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.feature.cooldown;
 
+import io.github.togar2.pvp.entity.CombatState;
 import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
@@ -24,6 +25,11 @@ public class VanillaAttackCooldownFeature implements AttackCooldownFeature, Regi
 			FeatureType.VERSION
 	);
 	
+	/**
+	 * @deprecated the state is stored in {@link CombatState}, this tag is no longer live:
+	 * it is only read once when the state is attached and never written, use {@link CombatState#getLastAttackedTicks(net.minestom.server.entity.LivingEntity)}
+	 */
+	@Deprecated
 	public static final Tag<Long> LAST_ATTACKED_TICKS = Tag.Long("lastAttackedTicks");
 	
 	private final FeatureConfiguration configuration;
@@ -53,15 +59,15 @@ public class VanillaAttackCooldownFeature implements AttackCooldownFeature, Regi
 	
 	@Override
 	public void resetCooldownProgress(Player player) {
-		player.setTag(LAST_ATTACKED_TICKS, player.getAliveTicks());
+		CombatState.of(player).setLastAttackedTicks(player.getAliveTicks());
 	}
 	
 	@Override
 	public double getAttackCooldownProgress(Player player) {
 		if (version.legacy()) return 1.0;
 		
-		Long lastAttacked = player.getTag(LAST_ATTACKED_TICKS);
-		if (lastAttacked == null) return 1.0;
+		long lastAttacked = CombatState.of(player).getLastAttackedTicks();
+		if (lastAttacked == CombatState.NEVER_ATTACKED) return 1.0;
 		
 		long timeSinceLastAttacked = player.getAliveTicks() - lastAttacked;
 		return MathUtils.clamp(
@@ -1,12 +1,12 @@
 package io.github.togar2.pvp.feature.cooldown;
 
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventNode;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.player.PlayerUseItemEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.item.Material;
@@ -20,7 +20,7 @@ import java.util.Map;
 /**
  * Vanilla implementation of {@link ItemCooldownFeature}
  */
-public class VanillaItemCooldownFeature implements ItemCooldownFeature, RegistrableFeature {
+public class VanillaItemCooldownFeature implements ItemCooldownFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaItemCooldownFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.ITEM_COOLDOWN, configuration -> new VanillaItemCooldownFeature(),
 			VanillaItemCooldownFeature::initPlayer
@@ -40,29 +40,33 @@ public class VanillaItemCooldownFeature implements ItemCooldownFeature, Registra
 	
 	@Override
 	public void init(EventNode<EntityInstanceEvent> node) {
-		node.addListener(PlayerTickEvent.class, event -> {
-			Player player = event.getPlayer();
-			Map<Material, Long> cooldown = player.getTag(COOLDOWN_END);
-			if (cooldown.isEmpty()) return;
-			long time = System.currentTimeMillis();
-			
-			Iterator<Map.Entry<Material, Long>> iterator = cooldown.entrySet().iterator();
-			
-			while (iterator.hasNext()) {
-				Map.Entry<Material, Long> entry = iterator.next();
-				if (entry.getValue() <= time) {
-					iterator.remove();
-					sendCooldownPacket(player, entry.getKey(), 0);
-				}
-			}
-		});
-		
 		node.addListener(PlayerUseItemEvent.class, event -> {
 			if (hasCooldown(event.getPlayer(), event.getItemStack().material()))
 				event.setCancelled(true);
 		});
 	}
 	
+	@Override
+	public boolean needsTick(Player player) {
+		return !player.getTag(COOLDOWN_END).isEmpty();
+	}
+	
+	@Override
+	public void tick(Player player) {
+		Map<Material, Long> cooldown = player.getTag(COOLDOWN_END);
+		long time = System.currentTimeMillis();
+		
+		Iterator<Map.Entry<Material, Long>> iterator = cooldown.entrySet().iterator();
+		
+		while (iterator.hasNext()) {
+			Map.Entry<Material, Long> entry = iterator.next();
+			if (entry.getValue() <= time) {
+				iterator.remove();
+				sendCooldownPacket(player, entry.getKey(), 0);
+			}
+		}
+	}
+	
 	@Override
 	public boolean hasCooldown(Player player, Material material) {
 		Map<Material, Long> cooldown = player.getTag(COOLDOWN_END);
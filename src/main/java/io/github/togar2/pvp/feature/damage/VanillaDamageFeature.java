@@ -1,6 +1,8 @@
 package io.github.togar2.pvp.feature.damage;
 
 import io.github.togar2.pvp.damage.DamageTypeInfo;
+import io.github.togar2.pvp.entity.CombatState;
+import io.github.togar2.pvp.entity.EntityTypeTraits;
 import io.github.togar2.pvp.events.EntityPreDeathEvent;
 import io.github.togar2.pvp.events.FinalDamageEvent;
 import io.github.togar2.pvp.feature.FeatureType;
@@ -17,6 +19,7 @@ import io.github.togar2.pvp.feature.totem.TotemFeature;
 import io.github.togar2.pvp.feature.tracking.TrackingFeature;
 import io.github.togar2.pvp.utils.CombatVersion;
 import io.github.togar2.pvp.utils.EntityUtil;
+import io.github.togar2.pvp.utils.LazyEventHandle;
 import net.kyori.adventure.sound.Sound;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.Entity;
@@ -36,8 +39,6 @@ import net.minestom.server.registry.Registry;
 import net.minestom.server.sound.SoundEvent;
 import net.minestom.server.tag.Tag;
 
-import java.util.Objects;
-
 /**
  * Vanilla implementation of {@link DamageFeature}.
  * Supports blocking, knockback, totems, armor, etc.
@@ -50,7 +51,19 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 			FeatureType.ITEM_DAMAGE, FeatureType.VERSION
 	);
 	
+	private static final LazyEventHandle<FinalDamageEvent> FINAL_DAMAGE_EVENT = new LazyEventHandle<>(FinalDamageEvent.class);
+	
+	/**
+	 * @deprecated the state is stored in {@link CombatState}, this tag is no longer live:
+	 * it is only read once when the state is attached and never written, use {@link CombatState#getNewDamageTime(LivingEntity)}
+	 */
+	@Deprecated
 	public static final Tag<Long> NEW_DAMAGE_TIME = Tag.Long("newDamageTime");
+	/**
+	 * @deprecated the state is stored in {@link CombatState}, this tag is no longer live:
+	 * it is only read once when the state is attached and never written, use {@link CombatState#getLastDamageAmount(LivingEntity)}
+	 */
+	@Deprecated
 	public static final Tag<Float> LAST_DAMAGE_AMOUNT = Tag.Float("lastDamageAmount");
 	
 	private final FeatureConfiguration configuration;
@@ -120,9 +133,7 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		
 		float amount = damage.getAmount();
 		
-		if (typeInfo.freeze() && Objects.requireNonNull(MinecraftServer.getTagManager().getTag(
-						net.minestom.server.gamedata.tags.Tag.BasicType.ENTITY_TYPES, "minecraft:freeze_hurts_extra_types"))
-				.contains(entity.getEntityType().key())) {
+		if (typeInfo.freeze() && EntityTypeTraits.hasFlag(entity, EntityTypeTraits.FREEZE_HURTS_EXTRA)) {
 			amount *= 5.0F;
 		}
 		
@@ -135,9 +146,9 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		
 		// Invulnerability ticks
 		boolean hurtSoundAndAnimation = true;
-		long newDamageTime = entity.hasTag(NEW_DAMAGE_TIME) ? entity.getTag(NEW_DAMAGE_TIME) : -10000;
-		if (entity.getAliveTicks() - newDamageTime < 0) {
-			float lastDamage = entity.hasTag(LAST_DAMAGE_AMOUNT) ? entity.getTag(LAST_DAMAGE_AMOUNT) : 0;
+		CombatState state = CombatState.of(entity);
+		if (entity.getAliveTicks() - state.getNewDamageTime() < 0) {
+			float lastDamage = state.getLastDamageAmount();
 			
 			if (amount <= lastDamage) {
 				event.setCancelled(true);
@@ -149,17 +160,24 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		}
 		
 		// Process armor and effects
-		amount = armorFeature.getDamageWithProtection(entity, damageType, amount);
+		amount = armorFeature.getDamageWithProtection(entity, damageType, typeInfo, amount);
 		
 		damage.setAmount(amount);
-		FinalDamageEvent finalDamageEvent = new FinalDamageEvent(entity, damage, 10, FinalDamageEvent.AnimationType.MODERN);
-		EventDispatcher.call(finalDamageEvent);
-		// New amount has been set in the Damage class
-		amount = damage.getAmount();
-		
-		if (finalDamageEvent.isCancelled()) {
-			event.setCancelled(true);
-			return;
+		int invulnerabilityTicks = 10;
+		FinalDamageEvent.AnimationType animationType = FinalDamageEvent.AnimationType.MODERN;
+		if (FINAL_DAMAGE_EVENT.hasListener()) {
+			FinalDamageEvent finalDamageEvent = new FinalDamageEvent(entity, damage, invulnerabilityTicks, animationType);
+			FINAL_DAMAGE_EVENT.call(finalDamageEvent);
+			// New amount has been set in the Damage class
+			amount = damage.getAmount();
+			
+			if (finalDamageEvent.isCancelled()) {
+				event.setCancelled(true);
+				return;
+			}
+			
+			invulnerabilityTicks = finalDamageEvent.getInvulnerabilityTicks();
+			animationType = finalDamageEvent.getAnimationType();
 		}
 		
 		// Register damage to tracking feature
@@ -171,18 +189,16 @@ public class VanillaDamageFeature implements DamageFeature, RegistrableFeature {
 		if (amountBeforeProcessing != 0 && entity instanceof Player player)
 			exhaustionFeature.addDamageExhaustion(player, damageType);
 		
-		if (register) entity.setTag(LAST_DAMAGE_AMOUNT, amountBeforeProcessing);
+		if (register) state.setLastDamageAmount(amountBeforeProcessing);
 		
 		if (hurtSoundAndAnimation) {
-			entity.setTag(NEW_DAMAGE_TIME, entity.getAliveTicks() + finalDamageEvent.getInvulnerabilityTicks());
+			state.setNewDamageTime(entity.getAliveTicks() + invulnerabilityTicks);
 			
 			if (fullyBlocked) {
 				// Shield status
 				entity.triggerStatus((byte) 29);
 			} else {
 				// Send damage animation
-				FinalDamageEvent.AnimationType animationType = finalDamageEvent.getAnimationType();
-				
 				if (animationType != FinalDamageEvent.AnimationType.NONE) {
 					boolean legacyAnimation = animationType == FinalDamageEvent.AnimationType.LEGACY;
 					entity.sendPacketToViewersAndSelf(new DamageEventPacket(
@@ -2,6 +2,10 @@ package io.github.togar2.pvp.feature.effect;
 
 import io.github.togar2.pvp.entity.projectile.Arrow;
 import io.github.togar2.pvp.feature.CombatFeature;
+import io.github.togar2.pvp.feature.food.ExhaustionFeature;
+import io.github.togar2.pvp.feature.food.FoodFeature;
+import io.github.togar2.pvp.potion.effect.CombatPotionEffect;
+import io.github.togar2.pvp.potion.effect.CombatPotionEffects;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.item.component.PotionContents;
@@ -32,6 +36,8 @@ public interface EffectFeature extends CombatFeature {
 		@Override public void addArrowEffects(LivingEntity entity, Arrow arrow) {}
 		@Override public void addSplashPotionEffects(LivingEntity entity, PotionContents potionContents, double proximity,
 		                                             @Nullable Entity source, @Nullable Entity attacker) {}
+		@Override public void addLingeringPotionEffects(LivingEntity entity, PotionContents potionContents,
+		                                                @Nullable Entity source, @Nullable Entity attacker) {}
 	};
 	
 	int getPotionColor(PotionContents contents);
@@ -70,4 +76,29 @@ public interface EffectFeature extends CombatFeature {
 	 */
 	void addSplashPotionEffects(LivingEntity entity, PotionContents potionContents, double proximity,
 	                            @Nullable Entity source, @Nullable Entity attacker);
+	
+	/**
+	 * Applies the effects of a lingering potion cloud to an entity standing in it.
+	 * Instant effects are applied with a proximity of 0.5, other effects last a quarter of their duration.
+	 * <p>
+	 * The default implementation applies instant effects without any exhaustion or food feature,
+	 * implementations which have those should override this method.
+	 *
+	 * @param entity         the entity in the cloud
+	 * @param potionContents the potion contents of the lingering potion
+	 * @param source         the direct source of the effects (usually the area effect cloud)
+	 * @param attacker       the attacker of the effects (usually the thrower of the potion)
+	 */
+	default void addLingeringPotionEffects(LivingEntity entity, PotionContents potionContents,
+	                                       @Nullable Entity source, @Nullable Entity attacker) {
+		for (Potion potion : getAllPotions(potionContents)) {
+			CombatPotionEffect combatPotionEffect = CombatPotionEffects.get(potion.effect());
+			if (combatPotionEffect.isInstant()) {
+				combatPotionEffect.applyInstantEffect(source, attacker,
+						entity, potion.amplifier(), 0.5, ExhaustionFeature.NO_OP, FoodFeature.NO_OP);
+			} else {
+				entity.addEffect(new Potion(potion.effect(), potion.amplifier(), potion.duration() / 4, potion.flags()));
+			}
+		}
+	}
 }
@@ -279,4 +279,18 @@ public class VanillaEffectFeature implements EffectFeature, RegistrableFeature {
 			}
 		}
 	}
+	
+	@Override
+	public void addLingeringPotionEffects(LivingEntity entity, PotionContents potionContents,
+	                                      @Nullable Entity source, @Nullable Entity attacker) {
+		for (Potion potion : getAllPotions(potionContents)) {
+			CombatPotionEffect combatPotionEffect = CombatPotionEffects.get(potion.effect());
+			if (combatPotionEffect.isInstant()) {
+				combatPotionEffect.applyInstantEffect(source, attacker,
+						entity, potion.amplifier(), 0.5, exhaustionFeature, foodFeature);
+			} else {
+				entity.addEffect(new Potion(potion.effect(), potion.amplifier(), potion.duration() / 4, potion.flags()));
+			}
+		}
+	}
 }
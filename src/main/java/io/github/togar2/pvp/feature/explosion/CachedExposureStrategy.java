@@ -0,0 +1,87 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * See {@link ExposureStrategy#cached(ExposureStrategy)}.
+ * <p>
+ * Every instance has its own cache, which is cleared when the world age of the instance changes.
+ * Tags are identified by their name, so every strategy uses its own tag name to not share its cache with other strategies.
+ * The exposures are grouped by explosion center and entity size, and stored per block position in a primitive map,
+ * so looking up a cached exposure does not allocate.
+ */
+final class CachedExposureStrategy implements ExposureStrategy {
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
+	
+	private final Tag<Cache> cacheTag = Tag.Transient("exposureCache" + NEXT_ID.getAndIncrement());
+	private final ExposureStrategy strategy;
+	
+	CachedExposureStrategy(ExposureStrategy strategy) {
+		this.strategy = strategy;
+	}
+	
+	@Override
+	public double getExposure(@Nullable Instance instance, Block.Getter blockGetter, Point center,
+	                          Point position, BoundingBox box) {
+		if (instance == null) return strategy.getExposure(null, blockGetter, center, position, box);
+		
+		Cache cache = instance.getTag(cacheTag);
+		if (cache == null) cache = instance.updateAndGetTag(cacheTag, current -> current == null ? new Cache() : current);
+		
+		long block = ExplosionRays.pack(position.blockX(), position.blockY(), position.blockZ());
+		
+		Long2DoubleOpenHashMap exposures;
+		synchronized (cache) {
+			long tick = instance.getWorldAge();
+			if (cache.tick != tick) {
+				cache.tick = tick;
+				cache.groups.clear();
+			}
+			
+			exposures = cache.get(center.x(), center.y(), center.z(), box.width(), box.height());
+			double exposure = exposures.get(block);
+			if (!Double.isNaN(exposure)) return exposure;
+		}
+		
+		double exposure = strategy.getExposure(instance, blockGetter, center, position, box);
+		synchronized (cache) {
+			exposures.put(block, exposure);
+		}
+		
+		return exposure;
+	}
+	
+	/**
+	 * The cached exposures of entities of the same size to an explosion at the same center, by block position.
+	 */
+	private record Group(double centerX, double centerY, double centerZ, double width, double height,
+	                     Long2DoubleOpenHashMap exposures) {}
+	
+	private static final class Cache {
+		private long tick = -1;
+		// There are only a few explosion centers and entity sizes per tick, so the groups are searched linearly
+		private final List<Group> groups = new ArrayList<>();
+		
+		private Long2DoubleOpenHashMap get(double centerX, double centerY, double centerZ, double width, double height) {
+			for (Group group : groups) {
+				if (group.centerX == centerX && group.centerY == centerY && group.centerZ == centerZ
+						&& group.width == width && group.height == height) return group.exposures;
+			}
+			
+			Long2DoubleOpenHashMap exposures = new Long2DoubleOpenHashMap();
+			exposures.defaultReturnValue(Double.NaN);
+			groups.add(new Group(centerX, centerY, centerZ, width, height, exposures));
+			return exposures;
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import io.github.togar2.pvp.utils.BlockTraits;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.collision.CollisionUtils;
+import net.minestom.server.collision.PhysicsResult;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Vanilla exposure, see {@link ExposureStrategy#EXACT}.
+ * <p>
+ * The line of sight checks walk through the blocks on the line one by one using primitive coordinates,
+ * reading the blocks from the given block getter (so when it is an {@link ExplosionBlockView} no instance or chunk locks are taken).
+ * Blocks without collision are passed through and full blocks stop the line, looking both up in {@link BlockTraits}.
+ * Only a line which reaches a block with a partial collision shape (like stairs or slabs)
+ * is traced again using {@link CollisionUtils#handlePhysics}, which allocates positions and a result.
+ */
+final class ExactExposureStrategy implements ExposureStrategy {
+	private static final BoundingBox TARGET_BOX = new BoundingBox(1, 1, 1);
+	
+	@Override
+	public double getExposure(@Nullable Instance instance, Block.Getter blockGetter, Point center,
+	                          Point position, BoundingBox box) {
+		double xStep = 1 / (box.width() * 2 + 1);
+		double yStep = 1 / (box.height() * 2 + 1);
+		double zStep = 1 / (box.depth() * 2 + 1);
+		double g = (1 - Math.floor(1 / xStep) * xStep) / 2;
+		double h = (1 - Math.floor(1 / zStep) * zStep) / 2;
+		if (xStep < 0 || yStep < 0 || zStep < 0) return 0;
+		
+		double centerX = center.x(), centerY = center.y(), centerZ = center.z();
+		
+		int exposedCount = 0;
+		int rayCount = 0;
+		for (double dx = 0; dx <= 1; dx += xStep) {
+			for (double dy = 0; dy <= 1; dy += yStep) {
+				for (double dz = 0; dz <= 1; dz += zStep) {
+					double rayX = box.minX() + dx * box.width() + g + position.x();
+					double rayY = box.minY() + dy * box.height() + position.y();
+					double rayZ = box.minZ() + dz * box.depth() + h + position.z();
+					if (noBlocking(blockGetter, rayX, rayY, rayZ, centerX, centerY, centerZ)) exposedCount++;
+					rayCount++;
+				}
+			}
+		}
+		
+		return exposedCount / (double) rayCount;
+	}
+	
+	/**
+	 * Same as {@link CollisionUtils#isLineOfSightReachingShape}, but using a block getter:
+	 * the line is blocked when it stops in a block before it is within the target box around the end.
+	 */
+	static boolean noBlocking(Block.Getter blockGetter, double startX, double startY, double startZ,
+	                          double endX, double endY, double endZ) {
+		double dirX = endX - startX, dirY = endY - startY, dirZ = endZ - startZ;
+		int x = (int) Math.floor(startX), y = (int) Math.floor(startY), z = (int) Math.floor(startZ);
+		int stepX = (int) Math.signum(dirX), stepY = (int) Math.signum(dirY), stepZ = (int) Math.signum(dirZ);
+		
+		// The fraction of the line it takes to cross a block, and the fraction at which the next block is entered
+		double deltaX = stepX == 0 ? Double.POSITIVE_INFINITY : 1 / Math.abs(dirX);
+		double deltaY = stepY == 0 ? Double.POSITIVE_INFINITY : 1 / Math.abs(dirY);
+		double deltaZ = stepZ == 0 ? Double.POSITIVE_INFINITY : 1 / Math.abs(dirZ);
+		double nextX = stepX == 0 ? Double.POSITIVE_INFINITY : (stepX > 0 ? x + 1 - startX : startX - x) * deltaX;
+		double nextY = stepY == 0 ? Double.POSITIVE_INFINITY : (stepY > 0 ? y + 1 - startY : startY - y) * deltaY;
+		double nextZ = stepZ == 0 ? Double.POSITIVE_INFINITY : (stepZ > 0 ? z + 1 - startZ : startZ - z) * deltaZ;
+		
+		double fraction = 0;
+		while (true) {
+			int traits = BlockTraits.get(getStateId(blockGetter, x, y, z));
+			if ((traits & BlockTraits.NO_COLLISION) == 0) {
+				if ((traits & BlockTraits.FULL_COLLISION) == 0) {
+					return noBlockingPhysics(blockGetter, startX, startY, startZ, endX, endY, endZ);
+				}
+				
+				// The line stops where it enters this block
+				return reachesTarget(
+						endX - (startX + dirX * fraction),
+						endY - (startY + dirY * fraction),
+						endZ - (startZ + dirZ * fraction)
+				);
+			}
+			
+			fraction = Math.min(nextX, Math.min(nextY, nextZ));
+			if (fraction >= 1) return true;
+			
+			if (fraction == nextX) {
+				x += stepX;
+				nextX += deltaX;
+			} else if (fraction == nextY) {
+				y += stepY;
+				nextY += deltaY;
+			} else {
+				z += stepZ;
+				nextZ += deltaZ;
+			}
+		}
+	}
+	
+	/**
+	 * Whether a line which stopped at the given offset from its end is within {@link #TARGET_BOX} of the end,
+	 * like {@link BoundingBox#intersectBox} with an empty box.
+	 */
+	private static boolean reachesTarget(double offsetX, double offsetY, double offsetZ) {
+		return offsetX >= -TARGET_BOX.maxX() && offsetX <= -TARGET_BOX.minX()
+				&& offsetY >= -TARGET_BOX.maxY() && offsetY <= -TARGET_BOX.minY()
+				&& offsetZ >= -TARGET_BOX.maxZ() && offsetZ <= -TARGET_BOX.minZ();
+	}
+	
+	private static int getStateId(Block.Getter blockGetter, int x, int y, int z) {
+		if (blockGetter instanceof ExplosionBlockView view) return view.getStateId(x, y, z);
+		if (blockGetter instanceof Instance instance && !instance.isChunkLoaded(x >> 4, z >> 4)) return Block.AIR.stateId();
+		
+		Block block = blockGetter.getBlock(x, y, z, Block.Getter.Condition.TYPE);
+		return block == null ? Block.AIR.stateId() : block.stateId();
+	}
+	
+	/**
+	 * Traces the line using {@link CollisionUtils#handlePhysics}, which takes partial collision shapes into account.
+	 */
+	private static boolean noBlockingPhysics(Block.Getter blockGetter, double startX, double startY, double startZ,
+	                                         double endX, double endY, double endZ) {
+		PhysicsResult result = CollisionUtils.handlePhysics(
+				blockGetter, BoundingBox.ZERO,
+				new Pos(startX, startY, startZ), new Vec(endX - startX, endY - startY, endZ - startZ),
+				null, false
+		);
+		
+		Pos reached = result.newPosition();
+		return TARGET_BOX.intersectBox(new Vec(
+				endX - reached.x() - Vec.EPSILON,
+				endY - reached.y() - Vec.EPSILON,
+				endZ - reached.z() - Vec.EPSILON
+		), BoundingBox.ZERO);
+	}
+}
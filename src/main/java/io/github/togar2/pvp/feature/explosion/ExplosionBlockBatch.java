@@ -0,0 +1,154 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import io.github.togar2.pvp.entity.projectile.DormantProjectiles;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockFace;
+import net.minestom.server.instance.block.BlockManager;
+import net.minestom.server.instance.block.rule.BlockPlacementRule;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
+import net.minestom.server.utils.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the block changes of an explosion and applies them per chunk section.
+ * <p>
+ * The blocks of a section are set while holding the chunk lock once,
+ * and the viewers of the chunk receive a single {@link MultiBlockChangePacket} for the section.
+ * Blocks with a handler or block entity are set using {@link Instance#setBlock(int, int, int, Block)} instead,
+ * so their handlers are still called.
+ * Dormant arrows near every changed block are woken up, so they can fall when the block they are stuck in is gone.
+ * <p>
+ * Setting blocks in the chunk directly skips the placement rule updates of the neighbouring blocks,
+ * so they are done afterwards, like {@link Instance#setBlock(int, int, int, Block)} would do.
+ * A neighbour of multiple changed blocks is only updated once, from the face of the first changed block next to it.
+ */
+final class ExplosionBlockBatch {
+	private final Instance instance;
+	private static final BlockFace[] FACES = BlockFace.values();
+	
+	private final Long2ObjectOpenHashMap<LongArrayList> sections = new Long2ObjectOpenHashMap<>();
+	
+	ExplosionBlockBatch(Instance instance) {
+		this.instance = instance;
+	}
+	
+	void setBlock(int x, int y, int z, Block block) {
+		long key = ExplosionRays.pack(x >> 4, y >> 4, z >> 4);
+		LongArrayList changes = sections.get(key);
+		if (changes == null) {
+			changes = new LongArrayList();
+			sections.put(key, changes);
+		}
+		
+		changes.add(encode(block.stateId(), x, y, z));
+	}
+	
+	void apply() {
+		List<long[]> fallback = new ArrayList<>();
+		// Blocks set in the chunk directly, their neighbours still need to be updated
+		LongOpenHashSet changed = new LongOpenHashSet();
+		
+		for (Long2ObjectMap.Entry<LongArrayList> entry : sections.long2ObjectEntrySet()) {
+			long key = entry.getLongKey();
+			int sectionX = ExplosionRays.unpackX(key);
+			int sectionY = ExplosionRays.unpackY(key);
+			int sectionZ = ExplosionRays.unpackZ(key);
+			
+			Chunk chunk = instance.getChunk(sectionX, sectionZ);
+			if (chunk == null) continue;
+			
+			LongArrayList changes = entry.getValue();
+			LongArrayList applied = new LongArrayList(changes.size());
+			synchronized (chunk) {
+				for (int i = 0; i < changes.size(); i++) {
+					long change = changes.getLong(i);
+					int x = sectionX * 16 + (int) (change >> 8 & 15);
+					int y = sectionY * 16 + (int) (change & 15);
+					int z = sectionZ * 16 + (int) (change >> 4 & 15);
+					
+					Block current = chunk.getBlock(x, y, z);
+					if (current.handler() != null || current.registry().isBlockEntity()) {
+						fallback.add(new long[] {x, y, z, change >>> 12});
+						continue;
+					}
+					
+					chunk.setBlock(x, y, z, Block.fromStateId((int) (change >>> 12)));
+					applied.add(change);
+					changed.add(ExplosionRays.pack(x, y, z));
+				}
+			}
+			
+			if (!applied.isEmpty()) {
+				chunk.sendPacketToViewers(new MultiBlockChangePacket(
+						sectionX, sectionY, sectionZ, applied.toLongArray()));
+				DormantProjectiles.wake(instance, sectionX * 16, sectionZ * 16, sectionX * 16 + 15, sectionZ * 16 + 15);
+			}
+		}
+		
+		for (long[] change : fallback) {
+			Block block = Block.fromStateId((int) change[3]);
+			if (block == null) continue;
+			
+			Vec position = new Vec(change[0], change[1], change[2]);
+			instance.setBlock(position, block);
+			DormantProjectiles.wake(instance, position);
+		}
+		
+		updateNeighbours(changed);
+		sections.clear();
+	}
+	
+	/**
+	 * Runs the placement rule updates of the blocks next to the changed blocks, once per block.
+	 */
+	private void updateNeighbours(LongOpenHashSet changed) {
+		if (changed.isEmpty()) return;
+		
+		BlockManager blockManager = MinecraftServer.getBlockManager();
+		LongOpenHashSet updated = new LongOpenHashSet();
+		LongIterator iterator = changed.iterator();
+		while (iterator.hasNext()) {
+			long position = iterator.nextLong();
+			int x = ExplosionRays.unpackX(position);
+			int y = ExplosionRays.unpackY(position);
+			int z = ExplosionRays.unpackZ(position);
+			
+			for (BlockFace face : FACES) {
+				Direction direction = face.toDirection();
+				int neighbourX = x + direction.normalX();
+				int neighbourY = y + direction.normalY();
+				int neighbourZ = z + direction.normalZ();
+				if (!updated.add(ExplosionRays.pack(neighbourX, neighbourY, neighbourZ))) continue;
+				if (!instance.isChunkLoaded(neighbourX >> 4, neighbourZ >> 4)) continue;
+				
+				Block neighbour = instance.getBlock(neighbourX, neighbourY, neighbourZ, Block.Getter.Condition.TYPE);
+				if (neighbour == null) continue;
+				BlockPlacementRule rule = blockManager.getBlockPlacementRule(neighbour);
+				if (rule == null || rule.maxUpdateDistance() <= 0) continue;
+				
+				Block newBlock = rule.blockUpdate(new BlockPlacementRule.UpdateState(
+						instance, new Vec(neighbourX, neighbourY, neighbourZ), neighbour, face.getOppositeFace()));
+				// Setting the block through the instance also updates its own neighbours
+				if (newBlock != neighbour) instance.setBlock(neighbourX, neighbourY, neighbourZ, newBlock);
+			}
+		}
+	}
+	
+	/**
+	 * Encodes a block change in the format of {@link MultiBlockChangePacket}.
+	 */
+	private static long encode(int stateId, int x, int y, int z) {
+		return (long) stateId << 12 | (long) (x & 15) << 8 | (long) (z & 15) << 4 | (y & 15);
+	}
+}
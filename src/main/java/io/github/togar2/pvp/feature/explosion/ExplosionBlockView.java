@@ -0,0 +1,91 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A view of the blocks around an explosion, used while preparing it.
+ * <p>
+ * The block palettes of the chunk sections are copied (while holding the chunk lock) when they are first needed,
+ * after that block lookups are plain palette reads without any synchronization.
+ * Blocks in unloaded chunks or outside the world height are seen as air.
+ * <p>
+ * This view only knows about block states, blocks are returned without handlers or nbt.
+ * When the view is used on another thread, the sections have to be loaded beforehand using
+ * {@link #loadAround(double, double, double, double)}.
+ */
+final class ExplosionBlockView implements Block.Getter {
+	private static final Palette UNLOADED = Palette.blocks();
+	
+	private final Instance instance;
+	private final Long2ObjectOpenHashMap<Palette> sections = new Long2ObjectOpenHashMap<>();
+	
+	private long lastKey = Long.MIN_VALUE;
+	private Palette lastPalette;
+	
+	ExplosionBlockView(Instance instance) {
+		this.instance = instance;
+	}
+	
+	/**
+	 * Gets the state id of the block at the given position.
+	 *
+	 * @return the state id, or the state id of air if the block is not loaded
+	 */
+	int getStateId(int x, int y, int z) {
+		long key = ExplosionRays.pack(x >> 4, y >> 4, z >> 4);
+		Palette palette;
+		if (key == lastKey) {
+			palette = lastPalette;
+		} else {
+			palette = sections.get(key);
+			if (palette == null) {
+				palette = loadSection(x >> 4, y >> 4, z >> 4);
+				sections.put(key, palette);
+			}
+			
+			lastKey = key;
+			lastPalette = palette;
+		}
+		
+		if (palette == UNLOADED) return 0;
+		return palette.get(x & 15, y & 15, z & 15);
+	}
+	
+	/**
+	 * Copies all the sections within the given distance of a position.
+	 */
+	void loadAround(double x, double y, double z, double distance) {
+		int minX = (int) Math.floor(x - distance) >> 4, maxX = (int) Math.floor(x + distance) >> 4;
+		int minY = (int) Math.floor(y - distance) >> 4, maxY = (int) Math.floor(y + distance) >> 4;
+		int minZ = (int) Math.floor(z - distance) >> 4, maxZ = (int) Math.floor(z + distance) >> 4;
+		for (int sectionX = minX; sectionX <= maxX; sectionX++) {
+			for (int sectionY = minY; sectionY <= maxY; sectionY++) {
+				for (int sectionZ = minZ; sectionZ <= maxZ; sectionZ++) {
+					long key = ExplosionRays.pack(sectionX, sectionY, sectionZ);
+					if (!sections.containsKey(key)) sections.put(key, loadSection(sectionX, sectionY, sectionZ));
+				}
+			}
+		}
+	}
+	
+	private Palette loadSection(int sectionX, int sectionY, int sectionZ) {
+		Chunk chunk = instance.getChunk(sectionX, sectionZ);
+		if (chunk == null) return UNLOADED;
+		
+		synchronized (chunk) {
+			if (sectionY < chunk.getMinSection() || sectionY >= chunk.getMaxSection()) return UNLOADED;
+			return chunk.getSection(sectionY).blockPalette().clone();
+		}
+	}
+	
+	@Override
+	public @NotNull Block getBlock(int x, int y, int z, @NotNull Condition condition) {
+		Block block = Block.fromStateId(getStateId(x, y, z));
+		return block == null ? Block.AIR : block;
+	}
+}
@@ -0,0 +1,31 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import net.minestom.server.coordinate.Point;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * An alternative implementation for casting the rays of an explosion, loaded by {@link ExplosionRays}
+ * using {@link java.util.ServiceLoader}.
+ * <p>
+ * Implementations must destroy exactly the same blocks as {@link ExplosionRays#castScalar}:
+ * the random has to be used in the same order (one {@link RandomGenerator#nextFloat()} per ray, in ray order),
+ * and the positions and strengths of the rays have to be computed with the same floating point operations.
+ */
+interface ExplosionRayCaster {
+	/**
+	 * Checks whether this caster can be used in the current runtime.
+	 *
+	 * @return true if the caster can be used
+	 */
+	default boolean isAvailable() {
+		return true;
+	}
+	
+	/**
+	 * See {@link ExplosionRays#cast(ExplosionBlockView, double, double, double, float, RandomGenerator)}.
+	 */
+	List<Point> cast(ExplosionBlockView view, double centerX, double centerY, double centerZ,
+	                 float strength, RandomGenerator random);
+}
@@ -0,0 +1,177 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import io.github.togar2.pvp.utils.BlockTraits;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.random.RandomGenerator;
+
+/**
+ * Casts the rays of an explosion to find the blocks it destroys, like in vanilla.
+ * <p>
+ * The 1352 ray directions (the surface of a 16x16x16 cube) are computed once,
+ * and the rays are marched using primitive coordinates.
+ * Hit blocks are deduplicated using a set of packed block positions.
+ * Blocks are read from an {@link ExplosionBlockView} and their resistance from {@link BlockTraits}.
+ * <p>
+ * When an {@link ExplosionRayCaster} is found using {@link ServiceLoader} (like the one in the vector jar),
+ * it is used instead of the scalar implementation in this class.
+ */
+final class ExplosionRays {
+	static final int RAY_COUNT = 1352;
+	static final double STEP = 0.30000001192092896D;
+	static final float STEP_DECAY = 0.225F;
+	
+	/**
+	 * The normalized ray directions, stored as x, y, z for every ray
+	 */
+	static final double[] DIRECTIONS = new double[RAY_COUNT * 3];
+	
+	static {
+		int i = 0;
+		for (int x = 0; x < 16; ++x) {
+			for (int y = 0; y < 16; ++y) {
+				for (int z = 0; z < 16; ++z) {
+					if (x != 0 && x != 15 && y != 0 && y != 15 && z != 0 && z != 15) continue;
+					
+					double xLength = (float) x / 15.0F * 2.0F - 1.0F;
+					double yLength = (float) y / 15.0F * 2.0F - 1.0F;
+					double zLength = (float) z / 15.0F * 2.0F - 1.0F;
+					double length = Math.sqrt(xLength * xLength + yLength * yLength + zLength * zLength);
+					DIRECTIONS[i++] = xLength / length;
+					DIRECTIONS[i++] = yLength / length;
+					DIRECTIONS[i++] = zLength / length;
+				}
+			}
+		}
+	}
+	
+	// Loaded after the directions, so casters can use them in their constructor
+	private static final ExplosionRayCaster CASTER = loadCaster();
+	
+	private ExplosionRays() {}
+	
+	private static ExplosionRayCaster loadCaster() {
+		try {
+			for (ExplosionRayCaster caster : ServiceLoader.load(ExplosionRayCaster.class, ExplosionRays.class.getClassLoader())) {
+				if (caster.isAvailable()) return caster;
+			}
+		} catch (ServiceConfigurationError | LinkageError ignored) {
+			// The caster could not be loaded, for example because jdk.incubator.vector is not enabled
+		}
+		
+		return ExplosionRays::castScalar;
+	}
+	
+	/**
+	 * Casts all the rays of an explosion, using the {@link ExplosionRayCaster} which was found at startup
+	 * or the scalar implementation.
+	 *
+	 * @param view the view to read the blocks from
+	 * @param centerX the x coordinate of the explosion center
+	 * @param centerY the y coordinate of the explosion center
+	 * @param centerZ the z coordinate of the explosion center
+	 * @param strength the strength of the explosion
+	 * @param random the random used to vary the strength of every ray
+	 * @return the positions of the blocks which will be destroyed, without duplicates
+	 */
+	static List<Point> cast(ExplosionBlockView view, double centerX, double centerY, double centerZ,
+	                        float strength, RandomGenerator random) {
+		return CASTER.cast(view, centerX, centerY, centerZ, strength, random);
+	}
+	
+	/**
+	 * Casts all the rays of an explosion one by one.
+	 *
+	 * @param view the view to read the blocks from
+	 * @param centerX the x coordinate of the explosion center
+	 * @param centerY the y coordinate of the explosion center
+	 * @param centerZ the z coordinate of the explosion center
+	 * @param strength the strength of the explosion
+	 * @param random the random used to vary the strength of every ray
+	 * @return the positions of the blocks which will be destroyed, without duplicates
+	 */
+	static List<Point> castScalar(ExplosionBlockView view, double centerX, double centerY, double centerZ,
+	                              float strength, RandomGenerator random) {
+		List<Point> blocks = new ArrayList<>();
+		LongOpenHashSet visited = new LongOpenHashSet();
+		
+		for (int ray = 0; ray < RAY_COUNT; ray++) {
+			double stepX = DIRECTIONS[ray * 3] * STEP;
+			double stepY = DIRECTIONS[ray * 3 + 1] * STEP;
+			double stepZ = DIRECTIONS[ray * 3 + 2] * STEP;
+			double x = centerX;
+			double y = centerY;
+			double z = centerZ;
+			
+			float strengthLeft = strength * (0.7F + random.nextFloat() * 0.6F);
+			for (; strengthLeft > 0.0F; strengthLeft -= STEP_DECAY) {
+				int blockX = (int) Math.floor(x);
+				int blockY = (int) Math.floor(y);
+				int blockZ = (int) Math.floor(z);
+				float decay = getResistanceDecay(view.getStateId(blockX, blockY, blockZ));
+				
+				if (decay != 0.0F) {
+					strengthLeft -= decay;
+					
+					if (strengthLeft > 0.0F && visited.add(pack(blockX, blockY, blockZ))) {
+						blocks.add(new Vec(blockX, blockY, blockZ));
+					}
+				}
+				
+				x += stepX;
+				y += stepY;
+				z += stepZ;
+			}
+		}
+		
+		return blocks;
+	}
+	
+	/**
+	 * Gets how much the strength of a ray decreases because of the resistance of a block.
+	 *
+	 * @param stateId the state id of the block
+	 * @return the strength decrease, or 0 for air (which is skipped by the rays)
+	 */
+	static float getResistanceDecay(int stateId) {
+		if (BlockTraits.has(stateId, BlockTraits.AIR)) return 0.0F;
+		
+		double explosionResistance = BlockTraits.getExplosionResistance(stateId);
+		return (float) ((explosionResistance + 0.3F) * 0.3F);
+	}
+	
+	/**
+	 * Gets the maximum distance a ray of an explosion with the given strength can travel.
+	 *
+	 * @param strength the strength of the explosion
+	 * @return the maximum ray distance
+	 */
+	static double maxDistance(float strength) {
+		return Math.ceil(strength * 1.3F / STEP_DECAY) * STEP;
+	}
+	
+	/**
+	 * Packs a block position into a long, using 26 bits for x and z and 12 bits for y.
+	 */
+	static long pack(int x, int y, int z) {
+		return ((long) x & 0x3FFFFFF) << 38 | ((long) z & 0x3FFFFFF) << 12 | (y & 0xFFF);
+	}
+	
+	static int unpackX(long packed) {
+		return (int) (packed >> 38);
+	}
+	
+	static int unpackY(long packed) {
+		return (int) (packed << 52 >> 52);
+	}
+	
+	static int unpackZ(long packed) {
+		return (int) (packed << 26 >> 38);
+	}
+}
@@ -0,0 +1,222 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.instance.ExplosionSupplier;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Collects the explosions requested in an instance during a tick and executes them at the end of the tick.
+ * <p>
+ * Explosions with the same strength and data at (nearly) the same position, like stacked TNT in a cannon,
+ * are merged into a single explosion: the rays are cast and the entities are damaged once,
+ * while the knockback is multiplied by the amount of merged explosions.
+ * This also means viewers receive a single explosion packet for the merged explosions.
+ * <p>
+ * At most {@link #getMaxExplosionsPerTick()} (merged) explosions are executed every tick,
+ * the remaining ones are executed in the next ticks.
+ * When the {@link VanillaExplosionSupplier} casts its rays asynchronously, applying the result of an explosion
+ * on the tick thread counts towards the same budget, so both starting and applying an explosion use up one of it.
+ * <p>
+ * Merging only happens when the explosion supplier of the instance is a {@link VanillaExplosionSupplier},
+ * other explosion suppliers are called once for every requested explosion.
+ */
+public final class ExplosionScheduler {
+	private static final Tag<ExplosionScheduler> TAG = Tag.Transient("explosionScheduler");
+	
+	private final Instance instance;
+	private final List<Request> queue = new ArrayList<>();
+	private final List<Runnable> completions = new ArrayList<>();
+	private boolean flushScheduled = false;
+	
+	private int maxExplosionsPerTick = 64;
+	private double mergeDistance = 0.5;
+	
+	private long budgetTick = -1;
+	private int explosionsThisTick = 0;
+	
+	private ExplosionScheduler(Instance instance) {
+		this.instance = instance;
+	}
+	
+	/**
+	 * Gets the explosion scheduler of the given instance, creating it if it does not exist yet.
+	 *
+	 * @param instance the instance
+	 * @return the explosion scheduler of the instance
+	 */
+	public static ExplosionScheduler of(Instance instance) {
+		ExplosionScheduler scheduler = instance.getTag(TAG);
+		if (scheduler == null) {
+			synchronized (instance) {
+				scheduler = instance.getTag(TAG);
+				if (scheduler == null) {
+					scheduler = new ExplosionScheduler(instance);
+					instance.setTag(TAG, scheduler);
+				}
+			}
+		}
+		
+		return scheduler;
+	}
+	
+	/**
+	 * Requests an explosion, which will be executed at the end of the current tick
+	 * (or later, if the explosion budget has been used up).
+	 *
+	 * @param centerX the x coordinate of the explosion center
+	 * @param centerY the y coordinate of the explosion center
+	 * @param centerZ the z coordinate of the explosion center
+	 * @param strength the strength of the explosion
+	 * @param additionalData the additional data passed to the explosion supplier
+	 */
+	public void explode(float centerX, float centerY, float centerZ, float strength,
+	                    @Nullable CompoundBinaryTag additionalData) {
+		synchronized (this) {
+			double mergeDistanceSquared = mergeDistance * mergeDistance;
+			if (mergeDistance > 0 && instance.getExplosionSupplier() instanceof VanillaExplosionSupplier) {
+				for (Request request : queue) {
+					if (request.canMerge(centerX, centerY, centerZ, strength, additionalData, mergeDistanceSquared)) {
+						request.count++;
+						return;
+					}
+				}
+			}
+			
+			queue.add(new Request(centerX, centerY, centerZ, strength, additionalData));
+			if (flushScheduled) return;
+			flushScheduled = true;
+		}
+		
+		instance.scheduler().scheduleEndOfTick(this::flush);
+	}
+	
+	/**
+	 * Applies the result of an explosion whose rays have been cast asynchronously,
+	 * at the end of the current tick or later if the explosion budget has been used up.
+	 * Can be called from any thread.
+	 *
+	 * @param apply the task applying the explosion, which is run on the tick thread
+	 */
+	void complete(Runnable apply) {
+		synchronized (this) {
+			completions.add(apply);
+			if (flushScheduled) return;
+			flushScheduled = true;
+		}
+		
+		instance.scheduler().scheduleEndOfTick(this::flush);
+	}
+	
+	private void flush() {
+		List<Runnable> applies;
+		List<Request> requests;
+		boolean remaining;
+		synchronized (this) {
+			long tick = instance.getWorldAge();
+			if (tick != budgetTick) {
+				budgetTick = tick;
+				explosionsThisTick = 0;
+			}
+			
+			// Explosions which have already been started go first
+			applies = take(completions);
+			requests = take(queue);
+			
+			remaining = !completions.isEmpty() || !queue.isEmpty();
+			flushScheduled = remaining;
+		}
+		
+		for (Runnable apply : applies) {
+			apply.run();
+		}
+		
+		ExplosionSupplier supplier = instance.getExplosionSupplier();
+		if (supplier != null) {
+			for (Request request : requests) {
+				request.execute(instance, supplier);
+			}
+		}
+		
+		// Spread the remaining explosions over the next ticks
+		if (remaining) instance.scheduleNextTick(ignored -> instance.scheduler().scheduleEndOfTick(this::flush));
+	}
+	
+	/**
+	 * Takes as many elements from the start of the list as the budget of this tick allows.
+	 */
+	private <T> List<T> take(List<T> list) {
+		int amount = Math.min(list.size(), maxExplosionsPerTick - explosionsThisTick);
+		if (amount <= 0) return List.of();
+		
+		List<T> range = list.subList(0, amount);
+		List<T> taken = new ArrayList<>(range);
+		range.clear();
+		explosionsThisTick += amount;
+		return taken;
+	}
+	
+	/**
+	 * Gets the maximum amount of (merged) explosions executed in a single tick.
+	 *
+	 * @return the maximum amount of explosions per tick
+	 */
+	public int getMaxExplosionsPerTick() {
+		return maxExplosionsPerTick;
+	}
+	
+	public void setMaxExplosionsPerTick(int maxExplosionsPerTick) {
+		if (maxExplosionsPerTick <= 0) throw new IllegalArgumentException("Max explosions per tick must be positive");
+		this.maxExplosionsPerTick = maxExplosionsPerTick;
+	}
+	
+	/**
+	 * Gets the maximum distance between the centers of two explosions for them to be merged.
+	 *
+	 * @return the merge distance, 0 if explosions are never merged
+	 */
+	public double getMergeDistance() {
+		return mergeDistance;
+	}
+	
+	public void setMergeDistance(double mergeDistance) {
+		this.mergeDistance = mergeDistance;
+	}
+	
+	private static final class Request {
+		private final float centerX, centerY, centerZ;
+		private final float strength;
+		private final @Nullable CompoundBinaryTag additionalData;
+		private int count = 1;
+		
+		private Request(float centerX, float centerY, float centerZ, float strength,
+		                @Nullable CompoundBinaryTag additionalData) {
+			this.centerX = centerX;
+			this.centerY = centerY;
+			this.centerZ = centerZ;
+			this.strength = strength;
+			this.additionalData = additionalData;
+		}
+		
+		private boolean canMerge(float x, float y, float z, float strength,
+		                         @Nullable CompoundBinaryTag additionalData, double mergeDistanceSquared) {
+			if (this.strength != strength || !Objects.equals(this.additionalData, additionalData)) return false;
+			double dx = x - centerX, dy = y - centerY, dz = z - centerZ;
+			return dx * dx + dy * dy + dz * dz <= mergeDistanceSquared;
+		}
+		
+		private void execute(Instance instance, ExplosionSupplier supplier) {
+			if (count > 1 && supplier instanceof VanillaExplosionSupplier vanillaSupplier) {
+				vanillaSupplier.createExplosion(centerX, centerY, centerZ, strength, additionalData, count)
+						.apply(instance);
+			} else {
+				supplier.createExplosion(centerX, centerY, centerZ, strength, additionalData).apply(instance);
+			}
+		}
+	}
+}
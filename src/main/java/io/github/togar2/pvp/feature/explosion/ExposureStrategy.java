@@ -0,0 +1,67 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Computes the exposure of an entity to an explosion, which is the fraction of the entity
+ * that can be reached from the center of the explosion without passing through blocks.
+ * The damage and knockback of an explosion are multiplied by the exposure.
+ * <p>
+ * Strategies only get the position and bounding box of the entity, so the exposure can be computed from a snapshot.
+ * When explosions are asynchronous (see {@link VanillaExplosionSupplier#setAsyncExecutor(java.util.concurrent.Executor)}),
+ * strategies are called on the executor with a copy of the blocks, so they must be thread safe.
+ * <p>
+ * See {@link VanillaExplosionSupplier#setExposureStrategy(ExposureStrategy)}.
+ */
+@FunctionalInterface
+public interface ExposureStrategy {
+	/**
+	 * Samples a grid of points over the bounding box of the entity and traces a line to the center for each, like vanilla.
+	 */
+	ExposureStrategy EXACT = new ExactExposureStrategy();
+	/**
+	 * Like {@link #EXACT}, but reuses the exposure for entities in the same block during a tick,
+	 * if the explosion center is the same.
+	 */
+	ExposureStrategy CACHED = cached(EXACT);
+	
+	/**
+	 * Creates an exposure strategy which reuses the exposure computed by the given strategy
+	 * for entities with the same bounding box in the same block during a tick, if the explosion center is the same.
+	 *
+	 * @param strategy the strategy to compute the exposure with
+	 * @return the caching exposure strategy
+	 */
+	static ExposureStrategy cached(ExposureStrategy strategy) {
+		return new CachedExposureStrategy(strategy);
+	}
+	
+	/**
+	 * Computes the exposure of an entity to an explosion.
+	 *
+	 * @param instance the instance of the explosion, or null if unknown
+	 * @param blockGetter the block getter to read the blocks from
+	 * @param center the center of the explosion
+	 * @param position the position of the entity
+	 * @param box the bounding box of the entity
+	 * @return the exposure, between 0 and 1
+	 */
+	double getExposure(@Nullable Instance instance, Block.Getter blockGetter, Point center, Point position, BoundingBox box);
+	
+	/**
+	 * Computes the exposure of an entity to an explosion, using its current position and bounding box.
+	 *
+	 * @param blockGetter the block getter to read the blocks from
+	 * @param center the center of the explosion
+	 * @param entity the entity
+	 * @return the exposure, between 0 and 1
+	 */
+	default double getExposure(Block.Getter blockGetter, Point center, Entity entity) {
+		return getExposure(entity.getInstance(), blockGetter, center, entity.getPosition(), entity.getBoundingBox());
+	}
+}
@@ -1,14 +1,19 @@
 package io.github.togar2.pvp.feature.explosion;
 
+import io.github.togar2.pvp.entity.explosion.CrystalEntity;
 import io.github.togar2.pvp.events.ExplosionEvent;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
 import io.github.togar2.pvp.player.CombatPlayer;
+import io.github.togar2.pvp.utils.EntityUtil;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2DoubleOpenHashMap;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.collision.BoundingBox;
-import net.minestom.server.collision.CollisionUtils;
 import net.minestom.server.coordinate.BlockVec;
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
@@ -18,6 +23,7 @@ import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.entity.damage.DamageType;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Explosion;
 import net.minestom.server.instance.ExplosionSupplier;
 import net.minestom.server.instance.Instance;
@@ -30,6 +36,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 
 public final class VanillaExplosionSupplier implements ExplosionSupplier {
@@ -37,69 +45,118 @@ public final class VanillaExplosionSupplier implements ExplosionSupplier {
 	
 	private final EnchantmentFeature enchantmentFeature;
 	
+	private volatile @Nullable Executor asyncExecutor;
+	private volatile ExposureStrategy exposureStrategy = ExposureStrategy.EXACT;
+	
 	VanillaExplosionSupplier(ExplosionFeature feature, EnchantmentFeature enchantmentFeature) {
 		this.feature = feature;
 		this.enchantmentFeature = enchantmentFeature;
 	}
 	
+	/**
+	 * Gets the executor used to cast the rays and compute the exposure of explosions, or null if explosions are fully synchronous.
+	 *
+	 * @return the executor for asynchronous explosions
+	 */
+	public @Nullable Executor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+	
+	/**
+	 * Sets the executor used to cast the rays and compute the exposure of explosions, for example a {@link java.util.concurrent.ForkJoinPool}
+	 * or {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()}.
+	 * <p>
+	 * When an executor is set, the chunk sections around an explosion are copied on the tick thread,
+	 * together with the positions and bounding boxes of the entities in range.
+	 * The rays are then cast and the exposure of the entities is computed on the executor, against these copies.
+	 * The rest of the explosion is done on the tick thread once that is done, at the end of a tick
+	 * and within the budget of the {@link ExplosionScheduler} of the instance.
+	 * <p>
+	 * Only calling the {@link ExplosionEvent}, damage, knockback and the block changes happen on the tick thread.
+	 * The exposure strategy is thus called on the executor, see {@link ExposureStrategy}.
+	 * Because the rays are cast against a copy of the blocks, blocks which have changed since the copy was made
+	 * are not destroyed (and TNT which has been primed in the meantime is not primed again).
+	 * Likewise, the exposure of an entity is computed at the position it had when the explosion was applied,
+	 * entities which are only added to the entity list by the {@link ExplosionEvent} get their exposure computed on the tick thread.
+	 * Use null to make explosions fully synchronous again (the default).
+	 *
+	 * @param asyncExecutor the executor, or null
+	 */
+	public void setAsyncExecutor(@Nullable Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+	
+	/**
+	 * Gets the strategy used to compute the exposure of entities to explosions.
+	 *
+	 * @return the exposure strategy
+	 */
+	public ExposureStrategy getExposureStrategy() {
+		return exposureStrategy;
+	}
+	
+	/**
+	 * Sets the strategy used to compute the exposure of entities to explosions.
+	 * The default is {@link ExposureStrategy#EXACT}, {@link ExposureStrategy#CACHED} can be used
+	 * when a lot of entities are hit by explosions at the same place, like in TNT or crystal heavy servers.
+	 *
+	 * @param exposureStrategy the exposure strategy
+	 */
+	public void setExposureStrategy(ExposureStrategy exposureStrategy) {
+		this.exposureStrategy = Objects.requireNonNull(exposureStrategy);
+	}
+	
 	@Override
 	public Explosion createExplosion(float centerX, float centerY, float centerZ,
 	                                 float strength, @Nullable CompoundBinaryTag additionalData) {
+		return createExplosion(centerX, centerY, centerZ, strength, additionalData, 1);
+	}
+	
+	/**
+	 * Creates an explosion which stands for multiple explosions at the same place,
+	 * used by {@link ExplosionScheduler} to merge explosions.
+	 * The blocks and damage are computed once, while the knockback is multiplied by the count.
+	 *
+	 * @param count the amount of explosions this explosion stands for
+	 * @return the explosion
+	 */
+	public Explosion createExplosion(float centerX, float centerY, float centerZ,
+	                                 float strength, @Nullable CompoundBinaryTag additionalData, int count) {
+		return createExplosion(centerX, centerY, centerZ, strength, Options.of(additionalData), count);
+	}
+	
+	/**
+	 * Creates the explosion of an end crystal, with the strength of {@link CrystalEntity#EXPLOSION_STRENGTH}.
+	 * This skips reading the additional data of the explosion, and the causing entity is passed directly
+	 * instead of being looked up by uuid.
+	 *
+	 * @param causingEntity the entity which caused the explosion, usually the attacker of the crystal
+	 * @return the explosion
+	 */
+	public Explosion createCrystalExplosion(float centerX, float centerY, float centerZ,
+	                                        @Nullable Entity causingEntity) {
+		Options options = causingEntity == null ? Options.DEFAULT
+				: new Options(true, false, false, null, causingEntity);
+		return createExplosion(centerX, centerY, centerZ, CrystalEntity.EXPLOSION_STRENGTH, options, 1);
+	}
+	
+	private Explosion createExplosion(float centerX, float centerY, float centerZ,
+	                                  float strength, Options options, int count) {
 		return new Explosion(centerX, centerY, centerZ, strength) {
 			private final Map<Player, Vec> playerKnockback = new HashMap<>();
+			private ExplosionBlockView blockView;
+			// Whether the rays were cast against a copy of the blocks, which may be outdated when applying
+			private boolean copied;
 			
-			@Override
-			protected List<Point> prepare(Instance instance) {
-				List<Point> blocks = new ArrayList<>();
-				ThreadLocalRandom random = ThreadLocalRandom.current();
-				
-				boolean breakBlocks = true;
-				if (additionalData != null && additionalData.keySet().contains("breakBlocks"))
-					breakBlocks = additionalData.getBoolean("breakBlocks");
-				
-				if (breakBlocks) {
-					for (int x = 0; x < 16; ++x) {
-						for (int y = 0; y < 16; ++y) {
-							for (int z = 0; z < 16; ++z) {
-								if (x == 0 || x == 15 || y == 0 || y == 15 || z == 0 || z == 15) {
-									double xLength = (float) x / 15.0F * 2.0F - 1.0F;
-									double yLength = (float) y / 15.0F * 2.0F - 1.0F;
-									double zLength = (float) z / 15.0F * 2.0F - 1.0F;
-									double length = Math.sqrt(xLength * xLength + yLength * yLength + zLength * zLength);
-									xLength /= length;
-									yLength /= length;
-									zLength /= length;
-									double centerX = this.getCenterX();
-									double centerY = this.getCenterY();
-									double centerZ = this.getCenterZ();
-									
-									float strengthLeft = this.getStrength() * (0.7F + random.nextFloat() * 0.6F);
-									for (; strengthLeft > 0.0F; strengthLeft -= 0.225F) {
-										Vec position = new Vec(centerX, centerY, centerZ);
-										Block block = instance.getBlock(position);
-										
-										if (!block.isAir()) {
-											double explosionResistance = block.registry().explosionResistance();
-											strengthLeft -= (float) ((explosionResistance + 0.3F) * 0.3F);
-											
-											if (strengthLeft > 0.0F) {
-												Vec blockPosition = position.apply(Vec.Operator.FLOOR);
-												if (!blocks.contains(blockPosition)) {
-													blocks.add(blockPosition);
-												}
-											}
-										}
-										
-										centerX += xLength * 0.30000001192092896D;
-										centerY += yLength * 0.30000001192092896D;
-										centerZ += zLength * 0.30000001192092896D;
-									}
-								}
-							}
-						}
-					}
-				}
-				
+			private List<Point> castRays() {
+				if (!options.breakBlocks()) return new ArrayList<>();
+				return ExplosionRays.cast(
+						blockView, getCenterX(), getCenterY(), getCenterZ(),
+						getStrength(), ThreadLocalRandom.current()
+				);
+			}
+			
+			private List<Entity> getEntities(Instance instance) {
 				double strength = this.getStrength() * 2.0F;
 				int minX_ = (int) Math.floor(this.getCenterX() - strength - 1.0D);
 				int maxX_ = (int) Math.floor(this.getCenterX() + strength + 1.0D);
@@ -124,17 +181,36 @@ public final class VanillaExplosionSupplier implements ExplosionSupplier {
 				Vec centerPoint = new Vec(getCenterX(), getCenterY(), getCenterZ());
 				
 				Vec src = centerPoint.sub(0, explosionBox.height() / 2, 0);
-				List<Entity> entities = new ArrayList<>(instance.getEntities().stream()
-						.filter(entity -> explosionBox.intersectEntity(src, entity))
-						.toList());
-				
-				boolean anchor = false;
-				if (additionalData != null && additionalData.keySet().contains("anchor")) {
-					anchor = additionalData.getBoolean("anchor");
+				return EntityUtil.getEntitiesInBox(instance, explosionBox, src, EntityTracker.Target.ENTITIES);
+			}
+			
+			/**
+			 * Computes the exposure of the entities from snapshots of their positions and bounding boxes.
+			 */
+			private Reference2DoubleOpenHashMap<Entity> getExposures(Instance instance, ExposureStrategy strategy,
+			                                                         List<Entity> entities, Pos[] positions, BoundingBox[] boxes) {
+				Vec centerPoint = new Vec(getCenterX(), getCenterY(), getCenterZ());
+				Reference2DoubleOpenHashMap<Entity> exposures = new Reference2DoubleOpenHashMap<>(entities.size());
+				exposures.defaultReturnValue(Double.NaN);
+				for (int i = 0; i < entities.size(); i++) {
+					exposures.put(entities.get(i), strategy.getExposure(instance, blockView, centerPoint, positions[i], boxes[i]));
 				}
+				return exposures;
+			}
+			
+			@Override
+			protected List<Point> prepare(Instance instance) {
+				blockView = new ExplosionBlockView(instance);
+				return prepare(instance, castRays(), getEntities(instance), null);
+			}
+			
+			private List<Point> prepare(Instance instance, List<Point> blocks, List<Entity> entities,
+			                            @Nullable Reference2DoubleOpenHashMap<Entity> exposures) {
+				double strength = this.getStrength() * 2.0F;
+				Vec centerPoint = new Vec(getCenterX(), getCenterY(), getCenterZ());
 				
 				Damage damageObj;
-				if (anchor) {
+				if (options.anchor()) {
 					damageObj = new Damage(DamageType.BAD_RESPAWN_POINT, null, null, null, 0);
 				} else {
 					Entity causingEntity = getCausingEntity(instance);
@@ -159,7 +235,8 @@ public final class VanillaExplosionSupplier implements ExplosionSupplier {
 							dx /= distance;
 							dy /= distance;
 							dz /= distance;
-							double exposure = getExposure(centerPoint, entity);
+							double exposure = exposures == null ? Double.NaN : exposures.getDouble(entity);
+							if (Double.isNaN(exposure)) exposure = exposureStrategy.getExposure(blockView, centerPoint, entity);
 							currentStrength = (1.0D - currentStrength) * exposure;
 							damageObj.setAmount((float) ((currentStrength * currentStrength + currentStrength)
 									/ 2.0D * 7.0D * strength + 1.0D));
@@ -168,6 +245,7 @@ public final class VanillaExplosionSupplier implements ExplosionSupplier {
 								if (!living.damage(damageObj)) continue;
 								knockback = enchantmentFeature.getExplosionKnockback(living, currentStrength);
 							}
+							knockback *= count;
 							
 							Vec knockbackVec = new Vec(
 									dx * knockback,
@@ -195,24 +273,84 @@ public final class VanillaExplosionSupplier implements ExplosionSupplier {
 			
 			@Override
 			public void apply(@NotNull Instance instance) {
-				List<Point> blocks = prepare(instance);
+				Executor executor = asyncExecutor;
+				if (executor == null) {
+					applyBlocks(instance, prepare(instance));
+					return;
+				}
+				
+				blockView = new ExplosionBlockView(instance);
+				copied = true;
+				
+				// Snapshot the entities in range, their exposure is computed on the executor
+				double strength = getStrength() * 2.0F;
+				Vec centerPoint = new Vec(getCenterX(), getCenterY(), getCenterZ());
+				List<Entity> entities = getEntities(instance);
+				List<Entity> inRange = new ArrayList<>(entities.size());
+				Pos[] positions = new Pos[entities.size()];
+				BoundingBox[] boxes = new BoundingBox[entities.size()];
+				double reach = options.breakBlocks() ? ExplosionRays.maxDistance(getStrength()) : 0;
+				for (Entity entity : entities) {
+					Pos position = entity.getPosition();
+					double distance = position.distance(centerPoint);
+					if (distance > strength) continue;
+					
+					BoundingBox box = entity.getBoundingBox();
+					positions[inRange.size()] = position;
+					boxes[inRange.size()] = box;
+					inRange.add(entity);
+					// The exposure lines go from any point of the bounding box to the center
+					reach = Math.max(reach, distance + box.width() + box.height() + box.depth() + 1);
+				}
+				
+				// Copy the sections the rays and exposure lines can reach on this thread
+				if (reach > 0) blockView.loadAround(getCenterX(), getCenterY(), getCenterZ(), reach);
+				
+				ExposureStrategy strategy = exposureStrategy;
+				CompletableFuture.supplyAsync(() -> {
+							List<Point> blocks = castRays();
+							Reference2DoubleOpenHashMap<Entity> exposures = getExposures(instance, strategy, inRange, positions, boxes);
+							return (Runnable) () -> applyBlocks(instance, prepare(instance, blocks, entities, exposures));
+						}, executor)
+						.thenAccept(apply -> ExplosionScheduler.of(instance).complete(apply))
+						.exceptionally(throwable -> {
+							MinecraftServer.getExceptionManager().handleException(throwable);
+							return null;
+						});
+			}
+			
+			private void applyBlocks(Instance instance, @Nullable List<Point> blocks) {
 				if (blocks == null) return; // Event was cancelled
-				byte[] records = new byte[3 * blocks.size()];
-				for (int i = 0; i < blocks.size(); i++) {
-					final var pos = blocks.get(i);
-					if (instance.getBlock(pos).compare(Block.TNT)) {
-						Entity causingEntity = getCausingEntity(instance);
+				
+				boolean fire = options.fire();
+				LongOpenHashSet destroyed = fire ? new LongOpenHashSet(blocks.size()) : null;
+				if (fire) {
+					for (Point pos : blocks) {
+						destroyed.add(ExplosionRays.pack(pos.blockX(), pos.blockY(), pos.blockZ()));
+					}
+				}
+				
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				ExplosionBlockBatch batch = new ExplosionBlockBatch(instance);
+				Entity causingEntity = null;
+				for (Point pos : blocks) {
+					int x = pos.blockX(), y = pos.blockY(), z = pos.blockZ();
+					Block block = blockView.getBlock(x, y, z);
+					if (copied && isChanged(instance, x, y, z, block)) continue;
+					
+					if (block.compare(Block.TNT)) {
+						if (causingEntity == null) causingEntity = getCausingEntity(instance);
 						feature.primeExplosive(instance, pos, new ExplosionFeature.IgnitionCause.Explosion(causingEntity),
-								ThreadLocalRandom.current().nextInt(20) + 10);
+								random.nextInt(20) + 10);
 					}
-					instance.setBlock(pos, Block.AIR);
-					final byte x = (byte) (pos.x() - Math.floor(getCenterX()));
-					final byte y = (byte) (pos.y() - Math.floor(getCenterY()));
-					final byte z = (byte) (pos.z() - Math.floor(getCenterZ()));
-					records[i * 3] = x;
-					records[i * 3 + 1] = y;
-					records[i * 3 + 2] = z;
+					
+					// The block below has to be solid and not destroyed by this explosion
+					boolean placeFire = fire && random.nextInt(3) == 0
+							&& !destroyed.contains(ExplosionRays.pack(x, y - 1, z))
+							&& blockView.getBlock(x, y - 1, z).isSolid();
+					batch.setBlock(x, y, z, placeFire ? Block.FIRE : Block.AIR);
 				}
+				batch.apply();
 				
 				Chunk chunk = instance.getChunkAt(getCenterX(), getCenterZ());
 				if (chunk != null) {
@@ -224,71 +362,51 @@ public final class VanillaExplosionSupplier implements ExplosionSupplier {
 				}
 				playerKnockback.clear();
 				
-				if (additionalData != null && additionalData.keySet().contains("fire")) {
-					if (additionalData.getBoolean("fire")) {
-						ThreadLocalRandom random = ThreadLocalRandom.current();
-						for (Point point : blocks) {
-							if (random.nextInt(3) != 0
-									|| !instance.getBlock(point).isAir()
-									|| !instance.getBlock(point.sub(0, 1, 0)).isSolid())
-								continue;
-							
-							instance.setBlock(point, Block.FIRE);
-						}
-					}
-				}
-				
 				postSend(instance, blocks);
 			}
 			
 			private @Nullable Entity getCausingEntity(Instance instance) {
-				Entity causingEntity = null;
-				if (additionalData != null && additionalData.keySet().contains("causingEntity")) {
-					UUID causingUuid = UUID.fromString(additionalData.getString("causingEntity"));
-					causingEntity = instance.getEntities().stream()
-							.filter(entity -> entity.getUuid().equals(causingUuid))
-							.findAny().orElse(null);
-				}
-				
-				return causingEntity;
+				if (options.causingEntity() != null) return options.causingEntity();
+				if (options.causingUuid() != null) return instance.getEntityByUuid(options.causingUuid());
+				return null;
 			}
 		};
 	}
 	
-	public static double getExposure(Point center, Entity entity) {
-		BoundingBox box = entity.getBoundingBox();
-		double xStep = 1 / (box.width() * 2 + 1);
-		double yStep = 1 / (box.height() * 2 + 1);
-		double zStep = 1 / (box.depth() * 2 + 1);
-		double g = (1 - Math.floor(1 / xStep) * xStep) / 2;
-		double h = (1 - Math.floor(1 / zStep) * zStep) / 2;
-		if (xStep < 0 || yStep < 0 || zStep < 0) return 0;
+	/**
+	 * Checks whether a block in the instance is no longer the block the rays of an explosion were cast against.
+	 */
+	private static boolean isChanged(Instance instance, int x, int y, int z, Block block) {
+		if (!instance.isChunkLoaded(x >> 4, z >> 4)) return true;
+		return instance.getBlock(x, y, z, Block.Getter.Condition.TYPE).stateId() != block.stateId();
+	}
+	
+	/**
+	 * The options of an explosion, read from its additional data once.
+	 */
+	private record Options(boolean breakBlocks, boolean fire, boolean anchor,
+	                       @Nullable UUID causingUuid, @Nullable Entity causingEntity) {
+		private static final Options DEFAULT = new Options(true, false, false, null, null);
 		
-		int exposedCount = 0;
-		int rayCount = 0;
-		double dx = 0;
-		while (dx <= 1) {
-			double dy = 0;
-			while (dy <= 1) {
-				double dz = 0;
-				while (dz <= 1) {
-					double rayX = box.minX() + dx * box.width();
-					double rayY = box.minY() + dy * box.height();
-					double rayZ = box.minZ() + dz * box.depth();
-					Point point = new Vec(rayX + g, rayY, rayZ + h).add(entity.getPosition());
-					if (noBlocking(entity.getInstance(), point, center)) exposedCount++;
-					rayCount++;
-					dz += zStep;
-				}
-				dy += yStep;
-			}
-			dx += xStep;
+		private static Options of(@Nullable CompoundBinaryTag additionalData) {
+			if (additionalData == null) return DEFAULT;
+			
+			Set<String> keys = additionalData.keySet();
+			return new Options(
+					!keys.contains("breakBlocks") || additionalData.getBoolean("breakBlocks"),
+					keys.contains("fire") && additionalData.getBoolean("fire"),
+					keys.contains("anchor") && additionalData.getBoolean("anchor"),
+					keys.contains("causingEntity") ? UUID.fromString(additionalData.getString("causingEntity")) : null,
+					null
+			);
 		}
-		
-		return exposedCount / (double) rayCount;
+	}
+	
+	public static double getExposure(Point center, Entity entity) {
+		return ExposureStrategy.EXACT.getExposure(entity.getInstance(), center, entity);
 	}
 	
 	public static boolean noBlocking(Instance instance, Point start, Point end) {
-		return CollisionUtils.isLineOfSightReachingShape(instance, null, start, end, new BoundingBox(1, 1, 1));
+		return ExactExposureStrategy.noBlocking(instance, start.x(), start.y(), start.z(), end.x(), end.y(), end.z());
 	}
 }
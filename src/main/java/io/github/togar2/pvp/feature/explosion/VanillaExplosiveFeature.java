@@ -15,6 +15,7 @@ import net.kyori.adventure.sound.Sound;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EquipmentSlot;
 import net.minestom.server.entity.GameMode;
@@ -25,6 +26,7 @@ import net.minestom.server.event.EventNode;
 import net.minestom.server.event.player.PlayerBlockInteractEvent;
 import net.minestom.server.event.player.PlayerUseItemOnBlockEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
@@ -40,6 +42,9 @@ public class VanillaExplosiveFeature implements ExplosiveFeature, RegistrableFea
 			FeatureType.EXPLOSION, FeatureType.ITEM_DAMAGE
 	);
 	
+	// Blocks an end crystal needs to be empty, relative to the block above the obsidian or bedrock
+	private static final BoundingBox CRYSTAL_PLACEMENT_BOX = new BoundingBox(1, 2, 1, Vec.ZERO);
+	
 	private final FeatureConfiguration configuration;
 	
 	private ExplosionFeature explosionFeature;
@@ -89,10 +94,7 @@ public class VanillaExplosiveFeature implements ExplosiveFeature, RegistrableFea
 			Point above = event.getPosition().add(0, 1, 0);
 			if (!instance.getBlock(above).isAir()) return;
 			
-			BoundingBox checkIntersect = new BoundingBox(1, 2, 1);
-			for (Entity entity : instance.getNearbyEntities(above, 3)) {
-				if (entity.getBoundingBox().intersectBox(above.sub(entity.getPosition()), checkIntersect)) return;
-			}
+			if (isCrystalObstructed(instance, above)) return;
 			
 			Point spawnPosition = above.add(0.5, 0, 0.5);
 			var crystalPlaceEvent = new CrystalPlaceEvent(event.getPlayer(), spawnPosition);
@@ -163,4 +165,24 @@ public class VanillaExplosiveFeature implements ExplosiveFeature, RegistrableFea
 			event.setBlockingItemUse(true);
 		});
 	}
+	
+	/**
+	 * Checks whether an entity is in the way of an end crystal placed at the given block.
+	 * Entities are visited through the entity tracker without collecting them, and the boxes are compared directly.
+	 */
+	private static boolean isCrystalObstructed(Instance instance, Point block) {
+		EntityTracker tracker = instance.getEntityTracker();
+		int minChunkX = (block.blockX() - 3) >> 4, maxChunkX = (block.blockX() + 3) >> 4;
+		int minChunkZ = (block.blockZ() - 3) >> 4, maxChunkZ = (block.blockZ() + 3) >> 4;
+		
+		for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+			for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+				for (Entity entity : tracker.chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES)) {
+					if (CRYSTAL_PLACEMENT_BOX.intersectEntity(block, entity)) return true;
+				}
+			}
+		}
+		
+		return false;
+	}
 }
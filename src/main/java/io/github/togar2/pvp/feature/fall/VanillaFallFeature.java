@@ -1,12 +1,15 @@
 package io.github.togar2.pvp.feature.fall;
 
+import io.github.togar2.pvp.entity.CombatState;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.MoveContext;
+import io.github.togar2.pvp.feature.PlayerMoveFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.state.PlayerStateFeature;
+import io.github.togar2.pvp.utils.BlockTraits;
 import net.kyori.adventure.sound.Sound;
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
@@ -16,9 +19,7 @@ import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.DamageType;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.entity.EntityTickEvent;
-import net.minestom.server.event.player.PlayerMoveEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
-import net.minestom.server.gamedata.tags.TagManager;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.network.packet.server.play.ParticlePacket;
@@ -30,14 +31,24 @@ import net.minestom.server.tag.Tag;
 /**
  * Vanilla implementation of {@link FallFeature}
  */
-public class VanillaFallFeature implements FallFeature, RegistrableFeature {
+public class VanillaFallFeature implements FallFeature, RegistrableFeature, PlayerMoveFeature {
 	public static final DefinedFeature<VanillaFallFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.FALL, VanillaFallFeature::new,
 			VanillaFallFeature::initPlayer,
 			FeatureType.PLAYER_STATE
 	);
 	
+	/**
+	 * @deprecated the state is stored in {@link CombatState}, this tag is no longer live:
+	 * it is only read once when the state is attached and never written, use {@link CombatState#getFallDistance(LivingEntity)}
+	 */
+	@Deprecated
 	public static final Tag<Double> FALL_DISTANCE = Tag.Transient("fallDistance");
+	/**
+	 * @deprecated the state is stored in {@link CombatState}, this tag is no longer live:
+	 * it is only read once when the state is attached and never written, use {@link CombatState#hasExtraFallParticles(LivingEntity)}
+	 */
+	@Deprecated
 	public static final Tag<Boolean> EXTRA_FALL_PARTICLES = Tag.Transient("extraFallParticles");
 	
 	private final FeatureConfiguration configuration;
@@ -54,7 +65,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 	}
 	
 	public static void initPlayer(Player player, boolean firstInit) {
-		player.setTag(FALL_DISTANCE, 0.0);
+		CombatState.of(player).setFallDistance(0);
 	}
 	
 	@Override
@@ -67,44 +78,46 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 			Pos previousPosition = livingEntity.getPreviousPosition();
 			handleFallDamage(livingEntity, previousPosition, livingEntity.getPosition(), livingEntity.isOnGround());
 		});
-		
+	}
+	
+	@Override
+	public void move(MoveContext context) {
 		// For players, handle fall damage on move event
-		node.addListener(PlayerMoveEvent.class, event -> {
-			Player player = event.getPlayer();
-			if (playerStateFeature.isClimbing(player)) player.setTag(FALL_DISTANCE, 0.0);
-			
-			handleFallDamage(
-					player, player.getPosition(),
-					event.getNewPosition(), event.isOnGround()
-			);
-		});
+		Player player = context.getPlayer();
+		if (playerStateFeature.isClimbing(context)) CombatState.of(player).setFallDistance(0);
+		
+		handleFallDamage(
+				player, context.getPreviousPosition(),
+				context.getNewPosition(), context.isOnGround()
+		);
 	}
 	
 	public void handleFallDamage(LivingEntity entity, Pos currPos, Pos newPos, boolean onGround) {
 		double dy = newPos.y() - currPos.y();
-		double fallDistance = getFallDistance(entity);
+		CombatState state = CombatState.of(entity);
+		double fallDistance = state.getFallDistance();
 		
 		if ((entity instanceof Player player && player.isFlying())
 				|| entity.hasEffect(PotionEffect.LEVITATION)
 				|| entity.hasEffect(PotionEffect.SLOW_FALLING) || dy > 0) {
-			entity.setTag(FALL_DISTANCE, 0.0);
+			state.setFallDistance(0);
 			return;
 		}
 		
 		if (entity.isFlyingWithElytra() && entity.getVelocity().y() > -0.5) {
-			entity.setTag(FALL_DISTANCE, 1.0);
+			state.setFallDistance(1);
 			return;
 		}
 		
 		if (!onGround) {
-			if (dy < 0) entity.setTag(FALL_DISTANCE, fallDistance - dy);
+			if (dy < 0) state.setFallDistance(fallDistance - dy);
 			return;
 		}
 		
 		Point landingPos = getLandingPos(entity, newPos);
 		Block block = entity.getInstance().getBlock(landingPos);
 		
-		if (entity.hasTag(EXTRA_FALL_PARTICLES) && entity.getTag(EXTRA_FALL_PARTICLES) && fallDistance > 0.0) {
+		if (state.hasExtraFallParticles() && fallDistance > 0.0) {
 			Vec position = Vec.fromPoint(landingPos).apply(Vec.Operator.FLOOR).add(0.5, 1, 0.5);
 			int particleCount = (int) Math.max(0, Math.min(200, 50 * fallDistance));
 			
@@ -115,7 +128,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 					0.15f, particleCount
 			));
 			
-			entity.removeTag(EXTRA_FALL_PARTICLES);
+			state.setExtraFallParticles(false);
 		}
 		
 		double safeFallDistance = entity.getAttributeValue(Attribute.SAFE_FALL_DISTANCE);
@@ -135,7 +148,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 			}
 		}
 		
-		entity.setTag(FALL_DISTANCE, 0.0);
+		state.setFallDistance(0);
 		
 		if (entity instanceof Player player && player.getGameMode().invulnerable()) return;
 		int damage = getFallDamage(entity, fallDistance);
@@ -165,18 +178,17 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 	
 	@Override
 	public double getFallDistance(LivingEntity entity) {
-		return entity.hasTag(FALL_DISTANCE) ? entity.getTag(FALL_DISTANCE) : 0.0;
+		return CombatState.of(entity).getFallDistance();
 	}
 	
 	@Override
 	public void resetFallDistance(LivingEntity entity) {
-		entity.setTag(FALL_DISTANCE, 0.0);
+		CombatState.of(entity).setFallDistance(0);
 	}
 	
 	@Override
 	public void setExtraFallParticles(LivingEntity entity, boolean extraFallParticles) {
-		if (extraFallParticles) entity.setTag(EXTRA_FALL_PARTICLES, true);
-		else entity.removeTag(EXTRA_FALL_PARTICLES);
+		CombatState.of(entity).setExtraFallParticles(extraFallParticles);
 	}
 	
 	protected Point getLandingPos(LivingEntity livingEntity, Pos position) {
@@ -188,19 +200,7 @@ public class VanillaFallFeature implements FallFeature, RegistrableFeature {
 		
 		Point offsetDown = offset.add(0, -1, 0);
 		Block block = instance.getBlock(offsetDown);
-		
-		TagManager tagManager = MinecraftServer.getTagManager();
-		var fences = tagManager.getTag(net.minestom.server.gamedata.tags.Tag.BasicType.BLOCKS, "minecraft:fences");
-		var walls = tagManager.getTag(net.minestom.server.gamedata.tags.Tag.BasicType.BLOCKS, "minecraft:walls");
-		var fenceGates = tagManager.getTag(net.minestom.server.gamedata.tags.Tag.BasicType.BLOCKS, "minecraft:fence_gates");
-		
-		assert fences != null;
-		assert walls != null;
-		assert fenceGates != null;
-		
-		if (fences.contains(block.key())
-				|| walls.contains(block.key())
-				|| fenceGates.contains(block.key())) {
+		if (BlockTraits.has(block, BlockTraits.FENCE_LIKE)) {
 			return offsetDown;
 		}
 		
@@ -1,36 +1,42 @@
 package io.github.togar2.pvp.feature.food;
 
+import io.github.togar2.pvp.entity.CombatState;
 import io.github.togar2.pvp.events.PlayerExhaustEvent;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.MoveContext;
+import io.github.togar2.pvp.feature.PlayerMoveFeature;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.provider.DifficultyProvider;
 import io.github.togar2.pvp.utils.CombatVersion;
+import io.github.togar2.pvp.utils.LazyEventHandle;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.damage.DamageType;
-import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.player.PlayerBlockBreakEvent;
-import net.minestom.server.event.player.PlayerMoveEvent;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.world.Difficulty;
 
-import java.util.Objects;
-
 /**
  * Vanilla implementation of {@link ExhaustionFeature}
  */
-public class VanillaExhaustionFeature implements ExhaustionFeature, RegistrableFeature {
+public class VanillaExhaustionFeature implements ExhaustionFeature, RegistrableFeature, PlayerTickFeature, PlayerMoveFeature {
 	public static final DefinedFeature<VanillaExhaustionFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.EXHAUSTION, VanillaExhaustionFeature::new,
 			VanillaExhaustionFeature::initPlayer,
 			FeatureType.DIFFICULTY, FeatureType.VERSION
 	);
 	
+	private static final LazyEventHandle<PlayerExhaustEvent> EXHAUST_EVENT = new LazyEventHandle<>(PlayerExhaustEvent.class);
+	
+	/**
+	 * @deprecated the state is stored in {@link CombatState}, this tag is no longer live:
+	 * it is only read once when the state is attached and never written, use {@link CombatState#getExhaustion(net.minestom.server.entity.LivingEntity)}
+	 */
+	@Deprecated
 	public static final Tag<Float> EXHAUSTION = Tag.Float("exhaustion");
 	
 	private final FeatureConfiguration configuration;
@@ -49,25 +55,32 @@ public class VanillaExhaustionFeature implements ExhaustionFeature, RegistrableF
 	}
 	
 	public static void initPlayer(Player player, boolean firstInit) {
-		player.setTag(EXHAUSTION, 0.0f);
+		CombatState.of(player).setExhaustion(0);
 	}
 	
 	@Override
 	public void init(EventNode<EntityInstanceEvent> node) {
-		node.addListener(PlayerTickEvent.class, event -> onTick(event.getPlayer()));
-		
 		node.addListener(PlayerBlockBreakEvent.class, event ->
 				addExhaustion(event.getPlayer(), version.legacy() ? 0.025f : 0.005f));
-		
-		node.addListener(PlayerMoveEvent.class, this::onMove);
+	}
+	
+	@Override
+	public boolean needsTick(Player player) {
+		return !player.getGameMode().invulnerable() && CombatState.of(player).getExhaustion() > 4;
+	}
+	
+	@Override
+	public void tick(Player player) {
+		onTick(player);
 	}
 	
 	protected void onTick(Player player) {
 		if (player.getGameMode().invulnerable()) return;
 		
-		float exhaustion = player.getTag(EXHAUSTION);
+		CombatState state = CombatState.of(player);
+		float exhaustion = state.getExhaustion();
 		if (exhaustion > 4) {
-			player.setTag(EXHAUSTION, exhaustion - 4);
+			state.setExhaustion(exhaustion - 4);
 			if (player.getFoodSaturation() > 0) {
 				player.setFoodSaturation(Math.max(player.getFoodSaturation() - 1, 0));
 			} else if (difficultyFeature.getValue(player) != Difficulty.PEACEFUL) {
@@ -76,15 +89,12 @@ public class VanillaExhaustionFeature implements ExhaustionFeature, RegistrableF
 		}
 	}
 	
-	protected void onMove(PlayerMoveEvent event) {
-		Player player = event.getPlayer();
-		
-		double xDiff = event.getNewPosition().x() - player.getPosition().x();
-		double yDiff = event.getNewPosition().y() - player.getPosition().y();
-		double zDiff = event.getNewPosition().z() - player.getPosition().z();
+	@Override
+	public void move(MoveContext context) {
+		Player player = context.getPlayer();
 		
 		// Check if movement was a jump
-		if (yDiff > 0.0D && player.isOnGround()) {
+		if (context.dy() > 0.0D && context.wasOnGround()) {
 			if (player.isSprinting()) {
 				addExhaustion(player, version.legacy() ? 0.8f : 0.2f);
 			} else {
@@ -92,12 +102,12 @@ public class VanillaExhaustionFeature implements ExhaustionFeature, RegistrableF
 			}
 		}
 		
-		if (player.isOnGround()) {
-			int l = (int) Math.round(Math.sqrt(xDiff * xDiff + zDiff * zDiff) * 100.0f);
+		if (context.wasOnGround()) {
+			int l = (int) Math.round(context.horizontalDistance() * 100.0f);
 			if (l > 0) addExhaustion(player, (player.isSprinting() ? 0.1f : 0.0f) * (float) l * 0.01f);
 		} else {
-			if (Objects.requireNonNull(player.getInstance()).getBlock(player.getPosition()) == Block.WATER) {
-				int l = (int) Math.round(Math.sqrt(xDiff * xDiff + yDiff * yDiff + zDiff * zDiff) * 100.0f);
+			if (context.isInWaterSource()) {
+				int l = (int) Math.round(context.distance() * 100.0f);
 				if (l > 0) addExhaustion(player, 0.01f * (float) l * 0.01f);
 			}
 		}
@@ -106,9 +116,15 @@ public class VanillaExhaustionFeature implements ExhaustionFeature, RegistrableF
 	@Override
 	public void addExhaustion(Player player, float exhaustion) {
 		if (player.getGameMode().invulnerable()) return;
-		PlayerExhaustEvent playerExhaustEvent = new PlayerExhaustEvent(player, exhaustion);
-		EventDispatcher.callCancellable(playerExhaustEvent, () -> player.setTag(EXHAUSTION,
-				Math.min(player.getTag(EXHAUSTION) + playerExhaustEvent.getAmount(), 40)));
+		if (EXHAUST_EVENT.hasListener()) {
+			PlayerExhaustEvent playerExhaustEvent = new PlayerExhaustEvent(player, exhaustion);
+			EXHAUST_EVENT.call(playerExhaustEvent);
+			if (playerExhaustEvent.isCancelled()) return;
+			exhaustion = playerExhaustEvent.getAmount();
+		}
+		
+		CombatState state = CombatState.of(player);
+		state.setExhaustion(Math.min(state.getExhaustion() + exhaustion, 40));
 	}
 	
 	@Override
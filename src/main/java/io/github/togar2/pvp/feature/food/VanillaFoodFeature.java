@@ -1,6 +1,7 @@
 package io.github.togar2.pvp.feature.food;
 
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
@@ -15,7 +16,6 @@ import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.item.PlayerFinishItemUseEvent;
 import net.minestom.server.event.player.PlayerPreEatEvent;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.component.DataComponents;
 import net.minestom.server.item.ItemStack;
@@ -43,7 +43,7 @@ import java.util.concurrent.ThreadLocalRandom;
  * <p>
  * This also includes eating of food items.
  */
-public class VanillaFoodFeature implements FoodFeature, RegistrableFeature {
+public class VanillaFoodFeature implements FoodFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaFoodFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.FOOD, VanillaFoodFeature::new,
 			FeatureType.ITEM_COOLDOWN
@@ -89,13 +89,16 @@ public class VanillaFoodFeature implements FoodFeature, RegistrableFeature {
 			
 			onFinishEating(event.getPlayer(), event.getItemStack(), event.getHand());
 		});
-		
-		node.addListener(PlayerTickEvent.class, event -> {
-			Player player = event.getPlayer();
-			if (player.isSilent() || !player.isEating()) return;
-			
-			tickEatingSounds(player);
-		});
+	}
+	
+	@Override
+	public boolean needsTick(Player player) {
+		return !player.isSilent() && player.isEating();
+	}
+	
+	@Override
+	public void tick(Player player) {
+		tickEatingSounds(player);
 	}
 	
 	protected void onFinishEating(Player player, ItemStack stack, PlayerHand hand) {
@@ -1,7 +1,9 @@
 package io.github.togar2.pvp.feature.food;
 
+import io.github.togar2.pvp.entity.CombatState;
 import io.github.togar2.pvp.events.PlayerRegenerateEvent;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
@@ -12,7 +14,6 @@ import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.DamageType;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventNode;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.world.Difficulty;
@@ -20,13 +21,18 @@ import net.minestom.server.world.Difficulty;
 /**
  * Vanilla implementation of {@link RegenerationFeature}
  */
-public class VanillaRegenerationFeature implements RegenerationFeature, RegistrableFeature {
+public class VanillaRegenerationFeature implements RegenerationFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaRegenerationFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.REGENERATION, VanillaRegenerationFeature::new,
 			VanillaRegenerationFeature::initPlayer,
 			FeatureType.EXHAUSTION, FeatureType.DIFFICULTY, FeatureType.VERSION
 	);
 	
+	/**
+	 * @deprecated the state is stored in {@link CombatState}, this tag is no longer live:
+	 * it is only read once when the state is attached and never written, use {@link CombatState#getStarvationTicks(net.minestom.server.entity.LivingEntity)}
+	 */
+	@Deprecated
 	public static final Tag<Integer> STARVATION_TICKS = Tag.Integer("starvationTicks");
 	
 	private final FeatureConfiguration configuration;
@@ -47,12 +53,26 @@ public class VanillaRegenerationFeature implements RegenerationFeature, Registra
 	}
 	
 	public static void initPlayer(Player player, boolean firstInit) {
-		player.setTag(STARVATION_TICKS, 0);
+		CombatState.of(player).setStarvationTicks(0);
 	}
 	
 	@Override
-	public void init(EventNode<EntityInstanceEvent> node) {
-		node.addListener(PlayerTickEvent.class, event -> onTick(event.getPlayer()));
+	public void init(EventNode<EntityInstanceEvent> node) {}
+	
+	@Override
+	public boolean needsTick(Player player) {
+		if (player.getGameMode().invulnerable()) return false;
+		
+		// Players with enough food and full health are idle
+		int food = player.getFood();
+		if (food <= 0 || CombatState.of(player).getStarvationTicks() != 0) return true;
+		float health = player.getHealth();
+		return food >= 18 && health > 0 && health < player.getAttributeValue(Attribute.MAX_HEALTH);
+	}
+	
+	@Override
+	public void tick(Player player) {
+		onTick(player);
 	}
 	
 	protected void onTick(Player player) {
@@ -61,7 +81,8 @@ public class VanillaRegenerationFeature implements RegenerationFeature, Registra
 		
 		int food = player.getFood();
 		float health = player.getHealth();
-		int starvationTicks = player.getTag(STARVATION_TICKS);
+		CombatState state = CombatState.of(player);
+		int starvationTicks = state.getStarvationTicks();
 		
 		if (version.modern() && player.getFoodSaturation() > 0 && health > 0
 				&& health < player.getAttributeValue(Attribute.MAX_HEALTH) && food >= 20) {
@@ -92,7 +113,7 @@ public class VanillaRegenerationFeature implements RegenerationFeature, Registra
 			starvationTicks = 0;
 		}
 		
-		player.setTag(STARVATION_TICKS, starvationTicks);
+		state.setStarvationTicks(starvationTicks);
 	}
 	
 	@Override
@@ -7,7 +7,6 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.feature.enchantment.EnchantmentFeature;
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.EquipmentSlot;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.damage.DamageType;
@@ -93,7 +92,7 @@ public class VanillaItemDamageFeature implements ItemDamageFeature {
 		
 		for (EquipmentSlot slot : slots) {
 			ItemStack stack = entity.getEquipment(slot);
-			DamageTypeInfo info = DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(damageType));
+			DamageTypeInfo info = DamageTypeInfo.of(damageType);
 			if (!(info.fire() && stack.material().key().value().toLowerCase().contains("netherite"))
 					&& ArmorMaterial.fromMaterial(stack.material()) != null) {
 				damageEquipment(entity, slot, (int) damage);
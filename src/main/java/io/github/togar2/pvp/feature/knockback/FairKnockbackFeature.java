@@ -5,6 +5,7 @@ import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.player.CombatPlayer;
+import io.github.togar2.pvp.utils.BlockTraits;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.collision.Aerodynamics;
 import net.minestom.server.coordinate.Vec;
@@ -99,11 +100,8 @@ public class FairKnockbackFeature extends VanillaKnockbackFeature {
 		
 		// These are all cases in which isOnGroundAfterTicks() will not be accurate
 		Block block = player.getInstance().getBlock(player.getPosition());
-		if (player.isFlyingWithElytra()
-				|| block.compare(Block.WATER)
-				|| block.compare(Block.LAVA)
-				|| block.compare(Block.COBWEB)
-				|| block.compare(Block.SCAFFOLDING))
+		if (player.isFlyingWithElytra() || BlockTraits.has(block,
+				BlockTraits.WATER | BlockTraits.LAVA | BlockTraits.COBWEB | BlockTraits.SCAFFOLDING))
 			return false;
 		
 		return combatPlayer.isOnGroundAfterTicks(latencyTicks);
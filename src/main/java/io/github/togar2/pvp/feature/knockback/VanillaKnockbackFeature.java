@@ -6,13 +6,13 @@ import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
 import io.github.togar2.pvp.player.CombatPlayer;
 import io.github.togar2.pvp.utils.CombatVersion;
+import io.github.togar2.pvp.utils.LazyEventHandle;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.damage.Damage;
-import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.network.packet.server.play.HitAnimationPacket;
 import org.jetbrains.annotations.Nullable;
 
@@ -27,6 +27,8 @@ public class VanillaKnockbackFeature implements KnockbackFeature {
 			FeatureType.VERSION
 	);
 	
+	private static final LazyEventHandle<EntityKnockbackEvent> KNOCKBACK_EVENT = new LazyEventHandle<>(EntityKnockbackEvent.class);
+	
 	private final FeatureConfiguration configuration;
 	
 	private CombatVersion version;
@@ -76,11 +78,13 @@ public class VanillaKnockbackFeature implements KnockbackFeature {
 	protected @Nullable KnockbackValues prepareKnockback(LivingEntity target, Entity attacker, @Nullable Entity source,
 	                                EntityKnockbackEvent.KnockbackType type, int extraKnockback,
 	                                double dx, double dz, boolean legacy) {
-		EntityKnockbackEvent knockbackEvent = new EntityKnockbackEvent(target, source == null ? attacker : source, type);
-		EventDispatcher.call(knockbackEvent);
-		if (knockbackEvent.isCancelled()) return null;
-		
-		KnockbackSettings settings = knockbackEvent.getSettings();
+		KnockbackSettings settings = KnockbackSettings.DEFAULT;
+		if (KNOCKBACK_EVENT.hasListener()) {
+			EntityKnockbackEvent knockbackEvent = new EntityKnockbackEvent(target, source == null ? attacker : source, type);
+			KNOCKBACK_EVENT.call(knockbackEvent);
+			if (knockbackEvent.isCancelled()) return null;
+			settings = knockbackEvent.getSettings();
+		}
 		
 		double kbResistance = target.getAttributeValue(Attribute.KNOCKBACK_RESISTANCE);
 		double horizontal, vertical;
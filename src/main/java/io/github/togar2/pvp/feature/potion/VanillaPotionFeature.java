@@ -2,6 +2,7 @@ package io.github.togar2.pvp.feature.potion;
 
 import io.github.togar2.pvp.entity.projectile.ThrownPotion;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
@@ -19,7 +20,6 @@ import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.item.PlayerFinishItemUseEvent;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.player.PlayerUseItemEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.component.DataComponents;
@@ -35,7 +35,7 @@ import java.util.concurrent.ThreadLocalRandom;
 /**
  * Vanilla implementation of {@link PotionFeature}
  */
-public class VanillaPotionFeature implements PotionFeature, RegistrableFeature {
+public class VanillaPotionFeature implements PotionFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaPotionFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.POTION, VanillaPotionFeature::new,
 			FeatureType.EFFECT, FeatureType.EXHAUSTION, FeatureType.FOOD
@@ -106,13 +106,6 @@ public class VanillaPotionFeature implements PotionFeature, RegistrableFeature {
 			}
 		});
 		
-		node.addListener(PlayerTickEvent.class, event -> {
-			Player player = event.getPlayer();
-			if (player.isSilent() || !player.isEating()) return;
-			
-			tickDrinkingSounds(player);
-		});
-		
 		node.addListener(PlayerUseItemEvent.class, event -> {
 			if (event.getItemStack().material() != Material.SPLASH_POTION) return;
 			
@@ -155,6 +148,16 @@ public class VanillaPotionFeature implements PotionFeature, RegistrableFeature {
 		}
 	}
 	
+	@Override
+	public boolean needsTick(Player player) {
+		return !player.isSilent() && player.isEating();
+	}
+	
+	@Override
+	public void tick(Player player) {
+		tickDrinkingSounds(player);
+	}
+	
 	protected void tickDrinkingSounds(Player player) {
 		ItemStack stack = player.getItemInHand(Objects.requireNonNull(player.getItemUseHand()));
 		if (stack.material() != Material.POTION) return;
@@ -10,8 +10,10 @@ import org.jetbrains.annotations.Nullable;
 
 import io.github.togar2.pvp.entity.projectile.AbstractArrow;
 import io.github.togar2.pvp.entity.projectile.Arrow;
+import io.github.togar2.pvp.entity.projectile.ProjectileVolley;
 import io.github.togar2.pvp.entity.projectile.SpectralArrow;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
@@ -28,7 +30,6 @@ import net.minestom.server.entity.Player;
 import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.entity.metadata.LivingEntityMeta;
 import net.minestom.server.event.EventNode;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.player.PlayerUseItemEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.component.DataComponents;
@@ -41,7 +42,7 @@ import net.minestom.server.tag.Tag;
 /**
  * Vanilla implementation of {@link CrossbowFeature}
  */
-public class VanillaCrossbowFeature implements CrossbowFeature, RegistrableFeature {
+public class VanillaCrossbowFeature implements CrossbowFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaCrossbowFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.CROSSBOW, VanillaCrossbowFeature::new,
 			FeatureType.ITEM_DAMAGE, FeatureType.EFFECT, FeatureType.ENCHANTMENT, FeatureType.PROJECTILE_ITEM
@@ -92,50 +93,6 @@ public class VanillaCrossbowFeature implements CrossbowFeature, RegistrableFeatu
 			}
 		});
 		
-		node.addListener(PlayerTickEvent.class, event -> {
-			Player player = event.getPlayer();
-			
-			// If not charging crossbow, return
-			LivingEntityMeta meta = (LivingEntityMeta) player.getEntityMeta();
-			if (!meta.isHandActive() || player.getItemInHand(meta.getActiveHand()).material() != Material.CROSSBOW)
-				return;
-			
-			PlayerHand hand = player.getPlayerMeta().getActiveHand();
-			ItemStack stack = player.getItemInHand(hand);
-			
-			int quickCharge = stack.get(DataComponents.ENCHANTMENTS).level(Enchantment.QUICK_CHARGE);
-			
-			long useTicks = player.getCurrentItemUseTime();
-			double progress = (getCrossbowUseDuration(stack) - useTicks) / (double) getCrossbowChargeDuration(stack);
-			
-			Boolean startSoundPlayed = player.getTag(START_SOUND_PLAYED);
-			Boolean midLoadSoundPlayed = player.getTag(MID_LOAD_SOUND_PLAYED);
-			if (startSoundPlayed == null) startSoundPlayed = false;
-			if (midLoadSoundPlayed == null) midLoadSoundPlayed = false;
-			
-			if (progress >= 0.2 && !startSoundPlayed) {
-				SoundEvent startSound = getCrossbowStartSound(quickCharge);
-				ViewUtil.viewersAndSelf(player).playSound(Sound.sound(
-						startSound, Sound.Source.PLAYER,
-						0.5f, 1.0f
-				), player);
-				
-				player.setTag(START_SOUND_PLAYED, true);
-				player.setItemInHand(hand, stack);
-			}
-			
-			SoundEvent midLoadSound = quickCharge == 0 ? SoundEvent.ITEM_CROSSBOW_LOADING_MIDDLE : null;
-			if (progress >= 0.5F && midLoadSound != null && !midLoadSoundPlayed) {
-				ViewUtil.viewersAndSelf(player).playSound(Sound.sound(
-						midLoadSound, Sound.Source.PLAYER,
-						0.5f, 1.0f
-				), player);
-				
-				player.setTag(MID_LOAD_SOUND_PLAYED, true);
-				player.setItemInHand(hand, stack);
-			}
-		});
-		
 		node.addListener(PlayerFinishItemUseEvent.class, event -> {
 			Player player = event.getPlayer();
 			ItemStack stack = event.getItemStack();
@@ -163,6 +120,51 @@ public class VanillaCrossbowFeature implements CrossbowFeature, RegistrableFeatu
 		});
 	}
 	
+	@Override
+	public boolean needsTick(Player player) {
+		// Only tick while charging a crossbow
+		LivingEntityMeta meta = (LivingEntityMeta) player.getEntityMeta();
+		return meta.isHandActive() && player.getItemInHand(meta.getActiveHand()).material() == Material.CROSSBOW;
+	}
+	
+	@Override
+	public void tick(Player player) {
+		PlayerHand hand = player.getPlayerMeta().getActiveHand();
+		ItemStack stack = player.getItemInHand(hand);
+		
+		int quickCharge = stack.get(DataComponents.ENCHANTMENTS).level(Enchantment.QUICK_CHARGE);
+		
+		long useTicks = player.getCurrentItemUseTime();
+		double progress = (getCrossbowUseDuration(stack) - useTicks) / (double) getCrossbowChargeDuration(stack);
+		
+		Boolean startSoundPlayed = player.getTag(START_SOUND_PLAYED);
+		Boolean midLoadSoundPlayed = player.getTag(MID_LOAD_SOUND_PLAYED);
+		if (startSoundPlayed == null) startSoundPlayed = false;
+		if (midLoadSoundPlayed == null) midLoadSoundPlayed = false;
+		
+		if (progress >= 0.2 && !startSoundPlayed) {
+			SoundEvent startSound = getCrossbowStartSound(quickCharge);
+			ViewUtil.viewersAndSelf(player).playSound(Sound.sound(
+					startSound, Sound.Source.PLAYER,
+					0.5f, 1.0f
+			), player);
+			
+			player.setTag(START_SOUND_PLAYED, true);
+			player.setItemInHand(hand, stack);
+		}
+		
+		SoundEvent midLoadSound = quickCharge == 0 ? SoundEvent.ITEM_CROSSBOW_LOADING_MIDDLE : null;
+		if (progress >= 0.5F && midLoadSound != null && !midLoadSoundPlayed) {
+			ViewUtil.viewersAndSelf(player).playSound(Sound.sound(
+					midLoadSound, Sound.Source.PLAYER,
+					0.5f, 1.0f
+			), player);
+			
+			player.setTag(MID_LOAD_SOUND_PLAYED, true);
+			player.setItemInHand(hand, stack);
+		}
+	}
+	
 	protected AbstractArrow createArrow(ItemStack stack, @Nullable Entity shooter) {
 		if (stack.material() == Material.SPECTRAL_ARROW) {
 			return new SpectralArrow(shooter, enchantmentFeature);
@@ -265,9 +267,13 @@ public class VanillaCrossbowFeature implements CrossbowFeature, RegistrableFeatu
 		List<ItemStack> projectiles = stack.get(DataComponents.CHARGED_PROJECTILES);
 		if (projectiles == null || projectiles.isEmpty()) return ItemStack.AIR;
 		
+		// Multishot projectiles are sent to the viewers together
+		ProjectileVolley volley = projectiles.size() > 1
+				? new ProjectileVolley(Objects.requireNonNull(player.getInstance())) : null;
+		
 		ItemStack projectile = projectiles.getFirst();
 		if (!projectile.isAir()) {
-			shootCrossbowProjectile(player, hand, stack, projectile, 1.0F, power, spread, 0.0F);
+			shootCrossbowProjectile(player, hand, stack, projectile, 1.0F, power, spread, 0.0F, volley);
 		}
 		
 		if (projectiles.size() > 2) {
@@ -278,20 +284,32 @@ public class VanillaCrossbowFeature implements CrossbowFeature, RegistrableFeatu
 			
 			projectile = projectiles.get(1);
 			if (!projectile.isAir()) {
-				shootCrossbowProjectile(player, hand, stack, projectile, firstPitch, power, spread, -10.0F);
+				shootCrossbowProjectile(player, hand, stack, projectile, firstPitch, power, spread, -10.0F, volley);
 			}
 			projectile = projectiles.get(2);
 			if (!projectile.isAir()) {
-				shootCrossbowProjectile(player, hand, stack, projectile, secondPitch, power, spread, 10.0F);
+				shootCrossbowProjectile(player, hand, stack, projectile, secondPitch, power, spread, 10.0F, volley);
 			}
 		}
 		
+		if (volley != null) volley.launch();
+		
 		return setCrossbowProjectile(stack, ItemStack.AIR);
 	}
 	
 	protected void shootCrossbowProjectile(Player player, PlayerHand hand, ItemStack crossbowStack,
 	                                       ItemStack projectile, float soundPitch,
 	                                       double power, double spread, float yaw) {
+		shootCrossbowProjectile(player, hand, crossbowStack, projectile, soundPitch, power, spread, yaw, null);
+	}
+	
+	/**
+	 * Shoots a crossbow projectile, adding it to the given volley instead of spawning it if the volley is not null.
+	 */
+	protected void shootCrossbowProjectile(Player player, PlayerHand hand, ItemStack crossbowStack,
+	                                       ItemStack projectile, float soundPitch,
+	                                       double power, double spread, float yaw,
+	                                       @Nullable ProjectileVolley volley) {
 		boolean firework = projectile.material() == Material.FIREWORK_ROCKET;
 		if (firework) return; //TODO firework
 		
@@ -302,14 +320,21 @@ public class VanillaCrossbowFeature implements CrossbowFeature, RegistrableFeatu
 		
 		//TODO fix velocity and yaw
 		Pos position = player.getPosition().add(0, player.getEyeHeight() - 0.1, 0);
-		arrow.setInstance(Objects.requireNonNull(player.getInstance()), position);
+		Pos spawnPosition = position;
 		
 		position = position.withYaw(position.yaw() + yaw);
 		//Vec direction = position.direction();
 		//position = position.add(direction).sub(0, 0.2, 0); //????????
 		
 		//TODO probably use shootFromRotation
+		// Shoot before spawning, so the velocity is part of the spawn packet
 		arrow.shootFrom(position, power, spread);
+		spawnPosition = spawnPosition.withView(arrow.getPosition());
+		if (volley != null) {
+			volley.add(arrow, spawnPosition);
+		} else {
+			arrow.setInstance(Objects.requireNonNull(player.getInstance()), spawnPosition);
+		}
 		
 		itemDamageFeature.damageEquipment(player, hand == PlayerHand.MAIN ?
 				EquipmentSlot.MAIN_HAND : EquipmentSlot.OFF_HAND, firework ? 3 : 1);
@@ -2,6 +2,7 @@ package io.github.togar2.pvp.feature.projectile;
 
 import io.github.togar2.pvp.entity.projectile.ThrownTrident;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
@@ -20,7 +21,6 @@ import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.entity.EntityAttackEvent;
 import net.minestom.server.event.item.PlayerCancelItemUseEvent;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.item.ItemStack;
@@ -35,7 +35,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Vanilla implementation of {@link TridentFeature}
  */
-public class VanillaTridentFeature implements TridentFeature, RegistrableFeature {
+public class VanillaTridentFeature implements TridentFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaTridentFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.TRIDENT, VanillaTridentFeature::new,
 			FeatureType.ITEM_DAMAGE, FeatureType.ENCHANTMENT
@@ -94,33 +94,36 @@ public class VanillaTridentFeature implements TridentFeature, RegistrableFeature
 				if (player.getGameMode() != GameMode.CREATIVE) player.setItemInHand(event.getHand(), stack.consume(1));
 			}
 		});
+	}
+	
+	@Override
+	public boolean needsTick(Player player) {
+		return player.getPlayerMeta().isInRiptideSpinAttack();
+	}
+	
+	@Override
+	public void tick(Player player) {
+		long ticks = player.getAliveTicks() - player.getTag(RIPTIDE_START);
+		AtomicBoolean stopRiptide = new AtomicBoolean(ticks >= 20);
 		
-		node.addListener(PlayerTickEvent.class, event -> {
-			if (event.getPlayer().getPlayerMeta().isInRiptideSpinAttack()) {
-				Player player = event.getPlayer();
-				long ticks = player.getAliveTicks() - player.getTag(RIPTIDE_START);
-				AtomicBoolean stopRiptide = new AtomicBoolean(ticks >= 20);
-				
-				assert player.getInstance() != null;
-				player.getInstance().getEntityTracker().nearbyEntities(player.getPosition(), 5,
-						EntityTracker.Target.ENTITIES, entity -> {
-							if (entity != player && !stopRiptide.get() && entity instanceof LivingEntity
-									&& entity.getBoundingBox().intersectEntity(entity.getPosition(), player)) {
-								stopRiptide.set(true);
-								
-								var attackEvent = new EntityAttackEvent(player, entity);
-								EventDispatcher.call(attackEvent);
-								if (player instanceof CombatPlayer combatPlayer)
-									combatPlayer.setVelocityNoUpdate(velocity -> velocity.mul(-0.2));
-							}
-						});
-				
-				//TODO detect player bouncing against wall
-				
-				if (stopRiptide.get())
-					event.getPlayer().refreshActiveHand(false, false, false);
-			}
-		});
+		assert player.getInstance() != null;
+		player.getInstance().getEntityTracker().nearbyEntities(player.getPosition(), 5,
+				EntityTracker.Target.ENTITIES, entity -> {
+					if (entity != player && !stopRiptide.get() && entity instanceof LivingEntity
+							&& entity.getBoundingBox().intersectEntity(entity.getPosition(), player)) {
+						stopRiptide.set(true);
+						
+						var attackEvent = new EntityAttackEvent(player, entity);
+						EventDispatcher.call(attackEvent);
+						if (player instanceof CombatPlayer combatPlayer)
+							combatPlayer.setVelocityNoUpdate(velocity -> velocity.mul(-0.2));
+					}
+				});
+		
+		//TODO detect player bouncing against wall
+		
+		if (stopRiptide.get())
+			player.refreshActiveHand(false, false, false);
 	}
 	
 	@Override
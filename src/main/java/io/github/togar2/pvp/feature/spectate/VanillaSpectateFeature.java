@@ -2,6 +2,7 @@ package io.github.togar2.pvp.feature.spectate;
 
 import io.github.togar2.pvp.events.PlayerSpectateEvent;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import net.minestom.server.entity.Entity;
@@ -11,14 +12,13 @@ import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.entity.EntityAttackEvent;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.tag.Tag;
 
 /**
  * Vanilla implementation of {@link SpectateFeature}
  */
-public class VanillaSpectateFeature implements SpectateFeature, RegistrableFeature {
+public class VanillaSpectateFeature implements SpectateFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaSpectateFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.SPECTATE, configuration -> new VanillaSpectateFeature()
 	);
@@ -38,8 +38,16 @@ public class VanillaSpectateFeature implements SpectateFeature, RegistrableFeatu
 			if (event.getEntity() instanceof Player player && player.getGameMode() == GameMode.SPECTATOR)
 				makeSpectate(player, event.getTarget());
 		});
-		
-		node.addListener(PlayerTickEvent.class, event -> spectateTick(event.getPlayer()));
+	}
+	
+	@Override
+	public boolean needsTick(Player player) {
+		return player.hasTag(SPECTATING);
+	}
+	
+	@Override
+	public void tick(Player player) {
+		spectateTick(player);
 	}
 	
 	protected void spectateTick(Player player) {
@@ -1,6 +1,7 @@
 package io.github.togar2.pvp.feature.state;
 
 import io.github.togar2.pvp.feature.CombatFeature;
+import io.github.togar2.pvp.feature.MoveContext;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.instance.block.Block;
 import org.jetbrains.annotations.Nullable;
@@ -23,5 +24,16 @@ public interface PlayerStateFeature extends CombatFeature {
 	
 	boolean isClimbing(LivingEntity entity);
 	
+	/**
+	 * Checks whether the player of the move context is climbing.
+	 * Implementations can use the blocks of the context instead of looking them up again.
+	 *
+	 * @param context the move context
+	 * @return true if the player is climbing
+	 */
+	default boolean isClimbing(MoveContext context) {
+		return isClimbing(context.getPlayer());
+	}
+	
 	@Nullable Block getLastClimbedBlock(LivingEntity entity);
 }
@@ -1,15 +1,16 @@
 package io.github.togar2.pvp.feature.state;
 
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.MoveContext;
+import io.github.togar2.pvp.feature.PlayerMoveFeature;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
-import net.minestom.server.MinecraftServer;
+import io.github.togar2.pvp.utils.BlockTraits;
 import net.minestom.server.entity.GameMode;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventNode;
-import net.minestom.server.event.player.PlayerMoveEvent;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.tag.Tag;
@@ -20,7 +21,7 @@ import java.util.Objects;
 /**
  * Vanilla implementation of {@link PlayerStateFeature}
  */
-public class VanillaPlayerStateFeature implements PlayerStateFeature, RegistrableFeature {
+public class VanillaPlayerStateFeature implements PlayerStateFeature, RegistrableFeature, PlayerTickFeature, PlayerMoveFeature {
 	public static final DefinedFeature<VanillaPlayerStateFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.PLAYER_STATE, configuration -> new VanillaPlayerStateFeature()
 	);
@@ -28,33 +29,40 @@ public class VanillaPlayerStateFeature implements PlayerStateFeature, Registrabl
 	public static final Tag<Block> LAST_CLIMBED_BLOCK = Tag.Transient("lastClimbedBlock");
 	
 	@Override
-	public void init(EventNode<EntityInstanceEvent> node) {
-		node.addListener(PlayerTickEvent.class, event -> {
-			Player player = event.getPlayer();
-			if (player.isOnGround() && player.hasTag(LAST_CLIMBED_BLOCK)) {
-				// Make sure fall damage message still has the correct climbed block
-				// Due to multithreading this can be triggered before the death message is computed
-				player.scheduleNextTick(p -> p.removeTag(LAST_CLIMBED_BLOCK));
-			}
-		});
-		
-		node.addListener(PlayerMoveEvent.class, event -> {
-			Player player = event.getPlayer();
-			if (isClimbing(player)) {
-				player.setTag(LAST_CLIMBED_BLOCK, player.getInstance().getBlock(player.getPosition()));
-			}
-		});
+	public void init(EventNode<EntityInstanceEvent> node) {}
+	
+	@Override
+	public void move(MoveContext context) {
+		if (isClimbing(context)) {
+			context.getPlayer().setTag(LAST_CLIMBED_BLOCK, context.getFeetBlock());
+		}
+	}
+	
+	@Override
+	public boolean needsTick(Player player) {
+		return player.hasTag(LAST_CLIMBED_BLOCK);
+	}
+	
+	@Override
+	public void tick(Player player) {
+		if (player.isOnGround()) {
+			// Make sure fall damage message still has the correct climbed block
+			// Due to multithreading this can be triggered before the death message is computed
+			player.scheduleNextTick(p -> p.removeTag(LAST_CLIMBED_BLOCK));
+		}
 	}
 	
 	@Override
 	public boolean isClimbing(LivingEntity entity) {
 		if (entity instanceof Player player && player.getGameMode() == GameMode.SPECTATOR) return false;
 		
-		var tag = MinecraftServer.getTagManager().getTag(net.minestom.server.gamedata.tags.Tag.BasicType.BLOCKS, "minecraft:climbable");
-		assert tag != null;
-		
 		Block block = Objects.requireNonNull(entity.getInstance()).getBlock(entity.getPosition());
-		return tag.contains(block.key());
+		return BlockTraits.has(block, BlockTraits.CLIMBABLE);
+	}
+	
+	@Override
+	public boolean isClimbing(MoveContext context) {
+		return context.isClimbing();
 	}
 	
 	@Override
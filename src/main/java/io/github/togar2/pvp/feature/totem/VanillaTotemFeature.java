@@ -5,7 +5,6 @@ import io.github.togar2.pvp.events.TotemUseEvent;
 import io.github.togar2.pvp.feature.FeatureType;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.food.VanillaFoodFeature;
-import net.minestom.server.MinecraftServer;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.PlayerHand;
 import net.minestom.server.entity.damage.DamageType;
@@ -28,7 +27,7 @@ public class VanillaTotemFeature implements TotemFeature {
 	
 	@Override
 	public boolean tryProtect(LivingEntity entity, DamageType type) {
-		if (DamageTypeInfo.of(MinecraftServer.getDamageTypeRegistry().getKey(type)).outOfWorld()) return false;
+		if (DamageTypeInfo.of(type).outOfWorld()) return false;
 		
 		DeathProtection deathProtection = null;
 		for (PlayerHand hand : PlayerHand.values()) {
@@ -2,6 +2,7 @@ package io.github.togar2.pvp.feature.tracking;
 
 import io.github.togar2.pvp.damage.combat.CombatManager;
 import io.github.togar2.pvp.feature.FeatureType;
+import io.github.togar2.pvp.feature.PlayerTickFeature;
 import io.github.togar2.pvp.feature.RegistrableFeature;
 import io.github.togar2.pvp.feature.config.DefinedFeature;
 import io.github.togar2.pvp.feature.config.FeatureConfiguration;
@@ -14,7 +15,6 @@ import net.minestom.server.entity.damage.Damage;
 import net.minestom.server.event.EventNode;
 import net.minestom.server.event.player.PlayerDeathEvent;
 import net.minestom.server.event.player.PlayerSpawnEvent;
-import net.minestom.server.event.player.PlayerTickEvent;
 import net.minestom.server.event.trait.EntityInstanceEvent;
 import net.minestom.server.tag.Tag;
 import org.jetbrains.annotations.Nullable;
@@ -22,7 +22,7 @@ import org.jetbrains.annotations.Nullable;
 /**
  * Vanilla implementation of {@link TrackingFeature}
  */
-public class VanillaDeathMessageFeature implements TrackingFeature, RegistrableFeature {
+public class VanillaDeathMessageFeature implements TrackingFeature, RegistrableFeature, PlayerTickFeature {
 	public static final DefinedFeature<VanillaDeathMessageFeature> DEFINED = new DefinedFeature<>(
 			FeatureType.TRACKING, VanillaDeathMessageFeature::new,
 			VanillaDeathMessageFeature::initPlayer,
@@ -54,8 +54,6 @@ public class VanillaDeathMessageFeature implements TrackingFeature, RegistrableF
 	public void init(EventNode<EntityInstanceEvent> node) {
 		node.addListener(PlayerSpawnEvent.class, event -> event.getPlayer().getTag(COMBAT_MANAGER).reset());
 		
-		node.addListener(PlayerTickEvent.class, event -> event.getPlayer().getTag(COMBAT_MANAGER).tick());
-		
 		node.addListener(PlayerDeathEvent.class, event -> {
 			Component message = getDeathMessage(event.getPlayer());
 			event.setChatMessage(message);
@@ -63,6 +61,16 @@ public class VanillaDeathMessageFeature implements TrackingFeature, RegistrableF
 		});
 	}
 	
+	@Override
+	public boolean needsTick(Player player) {
+		return player.getTag(COMBAT_MANAGER).needsTick();
+	}
+	
+	@Override
+	public void tick(Player player) {
+		player.getTag(COMBAT_MANAGER).tick();
+	}
+	
 	@Override
 	public void recordDamage(Player player, @Nullable Entity attacker, Damage damage) {
 		int id = attacker == null ? -1 : attacker.getEntityId();
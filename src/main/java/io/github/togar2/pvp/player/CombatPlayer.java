@@ -1,9 +1,9 @@
 package io.github.togar2.pvp.player;
 
+import io.github.togar2.pvp.feature.MoveContext;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
-import net.minestom.server.entity.Player;
 import net.minestom.server.entity.attribute.Attribute;
 import net.minestom.server.entity.attribute.AttributeInstance;
 import net.minestom.server.event.Event;
@@ -59,10 +59,9 @@ public interface CombatPlayer {
     
     static void init(EventNode<Event> node) {
         node.addListener(PlayerMoveEvent.class, event -> {
-            Player player = event.getPlayer();
-            if (player.isOnGround() && !event.isOnGround()
-                    && event.getNewPosition().y() > player.getPosition().y()
-                    && player instanceof CombatPlayer combatPlayer) {
+            if (!(event.getPlayer() instanceof CombatPlayer combatPlayer)) return;
+            MoveContext context = MoveContext.of(event);
+            if (context.leftGround() && context.dy() > 0) {
                 combatPlayer.jump();
             }
         });
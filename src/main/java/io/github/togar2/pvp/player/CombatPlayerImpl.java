@@ -1,5 +1,6 @@
 package io.github.togar2.pvp.player;
 
+import io.github.togar2.pvp.entity.CombatState;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.collision.Aerodynamics;
 import net.minestom.server.collision.PhysicsResult;
@@ -23,6 +24,7 @@ import java.util.function.Function;
 public class CombatPlayerImpl extends Player implements CombatPlayer {
 	private boolean velocityUpdate = false;
 	private PhysicsResult previousPhysicsResult = null;
+	private final CombatState combatState = new CombatState();
 	
 	public CombatPlayerImpl(@NotNull PlayerConnection playerConnection, GameProfile profile) {
 		super(playerConnection, profile);
@@ -33,6 +35,15 @@ public class CombatPlayerImpl extends Player implements CombatPlayer {
 		getAttribute(Attribute.ATTACK_DAMAGE).setBaseValue(1.0);
 	}
 	
+	/**
+	 * Gets the combat state of this player, see {@link CombatState#of(net.minestom.server.entity.LivingEntity)}.
+	 *
+	 * @return the combat state
+	 */
+	public CombatState getCombatState() {
+		return combatState;
+	}
+	
 	@Override
 	public void setVelocity(@NotNull Vec velocity) {
 		EntityVelocityEvent entityVelocityEvent = new EntityVelocityEvent(this, velocity);
@@ -0,0 +1,187 @@
+package io.github.togar2.pvp.utils;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.collision.Shape;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.gamedata.tags.Tag;
+import net.minestom.server.gamedata.tags.TagManager;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Table of combat related traits of block states, indexed by the state id of the block.
+ * Checking a trait is a single array read, instead of looking up tags or comparing against multiple blocks.
+ * The explosion resistance of every block state is stored in the same way.
+ * <p>
+ * The table is built when it is first used (or on {@link #init()}).
+ */
+public final class BlockTraits {
+	public static final int AIR = 1;
+	public static final int CLIMBABLE = 1 << 1;
+	/**
+	 * Ladders and trapdoors, used for the fall death message
+	 */
+	public static final int LADDER = 1 << 2;
+	public static final int VINES = 1 << 3;
+	public static final int WEEPING_VINES = 1 << 4;
+	public static final int TWISTING_VINES = 1 << 5;
+	public static final int SCAFFOLDING = 1 << 6;
+	/**
+	 * Fences, walls and fence gates, which are taller than a full block
+	 */
+	public static final int FENCE_LIKE = 1 << 7;
+	public static final int WATER = 1 << 8;
+	public static final int LAVA = 1 << 9;
+	public static final int COBWEB = 1 << 10;
+	/**
+	 * The block state has an empty collision shape, so entities and projectiles move through it
+	 */
+	public static final int NO_COLLISION = 1 << 11;
+	/**
+	 * The collision shape of the block state fills the whole block, like stone (but unlike stairs or slabs)
+	 */
+	public static final int FULL_COLLISION = 1 << 12;
+	
+	// Points which have to be inside the collision shape of a full block, see isFullCollision
+	private static final double[] FULL_SAMPLES = {0.01, 0.5, 0.98};
+	private static final BoundingBox SAMPLE_BOX = new BoundingBox(0.01, 0.01, 0.01);
+	
+	private static volatile int[] traits;
+	private static float[] explosionResistance;
+	
+	private BlockTraits() {}
+	
+	/**
+	 * Builds the table, if it has not been built yet.
+	 */
+	public static synchronized void init() {
+		if (traits != null) return;
+		
+		int size = 0;
+		for (Block block : Block.values()) {
+			for (Block state : block.possibleStates()) {
+				size = Math.max(size, state.stateId() + 1);
+			}
+		}
+		
+		TagManager tagManager = MinecraftServer.getTagManager();
+		Tag climbable = tagManager.getTag(Tag.BasicType.BLOCKS, "minecraft:climbable");
+		Tag fences = tagManager.getTag(Tag.BasicType.BLOCKS, "minecraft:fences");
+		Tag walls = tagManager.getTag(Tag.BasicType.BLOCKS, "minecraft:walls");
+		Tag fenceGates = tagManager.getTag(Tag.BasicType.BLOCKS, "minecraft:fence_gates");
+		
+		int[] traits = new int[size];
+		float[] explosionResistance = new float[size];
+		for (Block block : Block.values()) {
+			int blockTraits = 0;
+			
+			if (block.isAir()) blockTraits |= AIR;
+			if (contains(climbable, block)) blockTraits |= CLIMBABLE;
+			if (contains(fences, block) || contains(walls, block) || contains(fenceGates, block))
+				blockTraits |= FENCE_LIKE;
+			
+			if (block.compare(Block.LADDER) || block.compare(Block.ACACIA_TRAPDOOR)
+					|| block.compare(Block.BIRCH_TRAPDOOR) || block.compare(Block.CRIMSON_TRAPDOOR)
+					|| block.compare(Block.IRON_TRAPDOOR) || block.compare(Block.DARK_OAK_TRAPDOOR)
+					|| block.compare(Block.JUNGLE_TRAPDOOR) || block.compare(Block.OAK_TRAPDOOR)
+					|| block.compare(Block.SPRUCE_TRAPDOOR) || block.compare(Block.WARPED_TRAPDOOR)) {
+				blockTraits |= LADDER;
+			}
+			
+			if (block.compare(Block.VINE)) blockTraits |= VINES;
+			if (block.compare(Block.WEEPING_VINES) || block.compare(Block.WEEPING_VINES_PLANT))
+				blockTraits |= WEEPING_VINES;
+			if (block.compare(Block.TWISTING_VINES) || block.compare(Block.TWISTING_VINES_PLANT))
+				blockTraits |= TWISTING_VINES;
+			if (block.compare(Block.SCAFFOLDING)) blockTraits |= SCAFFOLDING;
+			if (block.compare(Block.WATER)) blockTraits |= WATER;
+			if (block.compare(Block.LAVA)) blockTraits |= LAVA;
+			if (block.compare(Block.COBWEB)) blockTraits |= COBWEB;
+			
+			float resistance = (float) block.registry().explosionResistance();
+			for (Block state : block.possibleStates()) {
+				int stateTraits = blockTraits;
+				if (!hasCollision(state)) stateTraits |= NO_COLLISION;
+				else if (isFullCollision(state)) stateTraits |= FULL_COLLISION;
+				
+				traits[state.stateId()] = stateTraits;
+				explosionResistance[state.stateId()] = resistance;
+			}
+		}
+		
+		BlockTraits.explosionResistance = explosionResistance;
+		BlockTraits.traits = traits;
+	}
+	
+	private static boolean hasCollision(Block state) {
+		if (state.isAir()) return false;
+		Shape shape = state.registry().collisionShape();
+		Point start = shape.relativeStart();
+		Point end = shape.relativeEnd();
+		return end.x() > start.x() && end.y() > start.y() && end.z() > start.z();
+	}
+	
+	private static boolean isFullCollision(Block state) {
+		Shape shape = state.registry().collisionShape();
+		Point start = shape.relativeStart();
+		Point end = shape.relativeEnd();
+		if (start.x() > 0 || start.y() > 0 || start.z() > 0 || end.x() < 1 || end.y() < 1 || end.z() < 1) return false;
+		
+		// The shape spans the whole block, make sure it does not leave out a part of it (like stairs)
+		for (double x : FULL_SAMPLES) {
+			for (double y : FULL_SAMPLES) {
+				for (double z : FULL_SAMPLES) {
+					if (!shape.intersectBox(new Vec(x, y, z), SAMPLE_BOX)) return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	private static boolean contains(@Nullable Tag tag, Block block) {
+		return tag != null && tag.contains(block.key());
+	}
+	
+	/**
+	 * Gets all the traits of a block state, see for example {@link #CLIMBABLE}.
+	 *
+	 * @param stateId the state id of the block
+	 * @return the traits of the block state
+	 */
+	public static int get(int stateId) {
+		int[] traits = BlockTraits.traits;
+		if (traits == null) {
+			init();
+			traits = BlockTraits.traits;
+		}
+		
+		return stateId >= 0 && stateId < traits.length ? traits[stateId] : 0;
+	}
+	
+	public static int get(Block block) {
+		return get(block.stateId());
+	}
+	
+	public static boolean has(int stateId, int trait) {
+		return (get(stateId) & trait) != 0;
+	}
+	
+	public static boolean has(Block block, int trait) {
+		return (get(block.stateId()) & trait) != 0;
+	}
+	
+	/**
+	 * Gets the explosion resistance of a block state.
+	 *
+	 * @param stateId the state id of the block
+	 * @return the explosion resistance of the block state
+	 */
+	public static float getExplosionResistance(int stateId) {
+		if (traits == null) init();
+		float[] explosionResistance = BlockTraits.explosionResistance;
+		return stateId >= 0 && stateId < explosionResistance.length ? explosionResistance[stateId] : 0;
+	}
+}
@@ -2,18 +2,57 @@ package io.github.togar2.pvp.utils;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.ItemEntity;
 import net.minestom.server.entity.LivingEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.damage.Damage;
+import net.minestom.server.instance.EntityTracker;
+import net.minestom.server.instance.Instance;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.utils.time.TimeUnit;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public class EntityUtil {
+	/**
+	 * How far the position of an entity can be from the furthest point of its bounding box,
+	 * used to make sure box queries do not miss entities which are only partially inside the box.
+	 */
+	private static final double ENTITY_SEARCH_MARGIN = 4.0;
+	
+	/**
+	 * Gets the entities of which the bounding box intersects with the given box at the given position.
+	 * Only the entities in the chunks near the box are checked, using the entity tracker of the instance.
+	 *
+	 * @param instance the instance to search in
+	 * @param box the box to search in
+	 * @param position the position of the box
+	 * @param target the type of entities to search for
+	 * @return the entities which intersect with the box
+	 */
+	public static <T extends Entity> List<T> getEntitiesInBox(Instance instance, BoundingBox box, Point position,
+	                                                         EntityTracker.Target<T> target) {
+		Point center = position.add(
+				box.minX() + box.width() / 2,
+				box.minY() + box.height() / 2,
+				box.minZ() + box.depth() / 2
+		);
+		double range = Math.sqrt(box.width() * box.width() + box.height() * box.height()
+				+ box.depth() * box.depth()) / 2 + ENTITY_SEARCH_MARGIN;
+		
+		List<T> entities = new ArrayList<>();
+		instance.getEntityTracker().nearbyEntities(center, range, target, entity -> {
+			if (box.intersectEntity(position, entity)) entities.add(entity);
+		});
+		return entities;
+	}
+	
 	public static void spawnItemAtLocation(Entity entity, ItemStack itemStack, double up) {
 		if (itemStack.isAir()) return;
 		
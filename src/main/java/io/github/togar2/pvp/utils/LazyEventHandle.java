@@ -0,0 +1,52 @@
+package io.github.togar2.pvp.utils;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.ListenerHandle;
+
+/**
+ * A {@link ListenerHandle} of the global event handler for a single event type,
+ * which is resolved when it is first used (so it can be stored in a static field).
+ * <p>
+ * The handle keeps track of the listeners in the node graph and updates itself when they change,
+ * which makes {@link #hasListener()} cheap enough to check before creating an event.
+ * This way events nobody listens for do not have to be created and dispatched at all.
+ *
+ * @param <E> the event type
+ */
+public final class LazyEventHandle<E extends Event> {
+	private final Class<E> eventType;
+	private volatile ListenerHandle<E> handle;
+
+	public LazyEventHandle(Class<E> eventType) {
+		this.eventType = eventType;
+	}
+
+	private ListenerHandle<E> handle() {
+		ListenerHandle<E> handle = this.handle;
+		if (handle == null) {
+			handle = MinecraftServer.getGlobalEventHandler().getHandle(eventType);
+			this.handle = handle;
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Checks whether there is at least one listener for the event type.
+	 *
+	 * @return true if the event type has listeners
+	 */
+	public boolean hasListener() {
+		return handle().hasListener();
+	}
+
+	/**
+	 * Calls the event, equivalent to {@link net.minestom.server.event.EventDispatcher#call(Event)}.
+	 *
+	 * @param event the event to call
+	 */
+	public void call(E event) {
+		handle().call(event);
+	}
+}
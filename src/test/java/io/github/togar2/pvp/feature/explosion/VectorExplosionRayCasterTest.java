@@ -0,0 +1,79 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that {@link VectorExplosionRayCaster} destroys exactly the same blocks as {@link ExplosionRays#castScalar}
+ * for the same random seed.
+ */
+public class VectorExplosionRayCasterTest {
+	private static final float[] STRENGTHS = {1, 2, 4, 6, 8};
+	// Enough for the rays of the strongest explosion around the centers
+	private static final int FILL_RADIUS = 18;
+	private static final int CENTER_Y = 64;
+	
+	private static final Block[] BLOCKS = {
+			Block.STONE, Block.DIRT, Block.OBSIDIAN, Block.WATER,
+			Block.GLASS, Block.OAK_PLANKS, Block.CAVE_AIR, Block.TNT
+	};
+	
+	private static InstanceContainer instance;
+	
+	@BeforeAll
+	public static void init() {
+		MinecraftServer.init();
+		instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+		for (int chunkX = -2; chunkX <= 1; chunkX++) {
+			for (int chunkZ = -2; chunkZ <= 1; chunkZ++) {
+				instance.loadChunk(chunkX, chunkZ).join();
+			}
+		}
+		
+		// Mostly air, so the rays travel through multiple blocks
+		Random random = new Random(0);
+		for (int x = -FILL_RADIUS; x <= FILL_RADIUS; x++) {
+			for (int y = CENTER_Y - FILL_RADIUS; y <= CENTER_Y + FILL_RADIUS; y++) {
+				for (int z = -FILL_RADIUS; z <= FILL_RADIUS; z++) {
+					if (random.nextInt(3) != 0) continue;
+					instance.setBlock(x, y, z, BLOCKS[random.nextInt(BLOCKS.length)]);
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void sameBlocksAsScalar() {
+		VectorExplosionRayCaster caster = new VectorExplosionRayCaster();
+		assumeTrue(caster.isAvailable(), "The vector ray caster is not available on this machine");
+		
+		Random centers = new Random(1);
+		for (int seed = 0; seed < 50; seed++) {
+			double centerX = centers.nextDouble() * 4 - 2;
+			double centerY = CENTER_Y + centers.nextDouble() * 4 - 2;
+			double centerZ = centers.nextDouble() * 4 - 2;
+			
+			for (float strength : STRENGTHS) {
+				List<Point> scalar = ExplosionRays.castScalar(new ExplosionBlockView(instance),
+						centerX, centerY, centerZ, strength, new Random(seed));
+				List<Point> vector = caster.cast(new ExplosionBlockView(instance),
+						centerX, centerY, centerZ, strength, new Random(seed));
+				
+				String explosion = "seed " + seed + ", strength " + strength;
+				assertEquals(scalar.size(), vector.size(), explosion);
+				assertEquals(new HashSet<>(scalar), new HashSet<>(vector), explosion);
+			}
+		}
+	}
+}
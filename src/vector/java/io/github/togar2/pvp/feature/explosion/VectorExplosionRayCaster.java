@@ -0,0 +1,193 @@
+package io.github.togar2.pvp.feature.explosion;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Casts the rays of an explosion in lanes using the (incubating) JDK Vector API.
+ * <p>
+ * Before casting, the strength decrease of every block the rays can reach is copied into a flat array
+ * (see {@link ExplosionRays#getResistanceDecay(int)}).
+ * The rays are then marched in groups of {@link DoubleVector#SPECIES_PREFERRED} lanes:
+ * advancing and flooring the positions, sampling the blocks (a gather from the flat array)
+ * and decreasing the strengths are all vector operations.
+ * Only the blocks which are hit are recorded per lane.
+ * <p>
+ * The strengths of all rays are generated up front in ray order, and every lane does the same
+ * floating point operations as {@link ExplosionRays#castScalar}, so the same random seed destroys exactly the same blocks.
+ * Explosions which are too large for the flat array are cast by the scalar implementation.
+ * <p>
+ * This class is only loaded when the vector jar is on the class path,
+ * and the JVM has to be started with {@code --add-modules jdk.incubator.vector}.
+ * Otherwise, the scalar implementation is used.
+ */
+@ApiStatus.Internal
+public final class VectorExplosionRayCaster implements ExplosionRayCaster {
+	private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+	// Floats and ints with the same amount of lanes as the doubles
+	private static final VectorShape HALF_SHAPE = VectorShape.forBitSize(Math.max(64, DOUBLES.vectorBitSize() / 2));
+	private static final VectorSpecies<Float> FLOATS = VectorSpecies.of(float.class, HALF_SHAPE);
+	private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, HALF_SHAPE);
+	
+	/**
+	 * The maximum size of the cube of blocks which is copied, larger explosions use the scalar implementation
+	 */
+	private static final int MAX_SIDE = 48;
+	
+	private final double[] stepX = new double[ExplosionRays.RAY_COUNT];
+	private final double[] stepY = new double[ExplosionRays.RAY_COUNT];
+	private final double[] stepZ = new double[ExplosionRays.RAY_COUNT];
+	
+	public VectorExplosionRayCaster() {
+		for (int ray = 0; ray < ExplosionRays.RAY_COUNT; ray++) {
+			stepX[ray] = ExplosionRays.DIRECTIONS[ray * 3] * ExplosionRays.STEP;
+			stepY[ray] = ExplosionRays.DIRECTIONS[ray * 3 + 1] * ExplosionRays.STEP;
+			stepZ[ray] = ExplosionRays.DIRECTIONS[ray * 3 + 2] * ExplosionRays.STEP;
+		}
+	}
+	
+	@Override
+	public boolean isAvailable() {
+		return DOUBLES.length() > 1 && FLOATS.length() == DOUBLES.length();
+	}
+	
+	@Override
+	public List<Point> cast(ExplosionBlockView view, double centerX, double centerY, double centerZ,
+	                        float strength, RandomGenerator random) {
+		// Two extra blocks for the rounding of the ray positions
+		int radius = (int) Math.ceil(ExplosionRays.maxDistance(strength)) + 2;
+		int side = radius * 2 + 1;
+		if (side > MAX_SIDE) return ExplosionRays.castScalar(view, centerX, centerY, centerZ, strength, random);
+		
+		float[] strengths = new float[ExplosionRays.RAY_COUNT];
+		for (int ray = 0; ray < ExplosionRays.RAY_COUNT; ray++) {
+			strengths[ray] = strength * (0.7F + random.nextFloat() * 0.6F);
+		}
+		
+		int originX = (int) Math.floor(centerX) - radius;
+		int originY = (int) Math.floor(centerY) - radius;
+		int originZ = (int) Math.floor(centerZ) - radius;
+		float[] decays = copyDecays(view, originX, originY, originZ, side);
+		
+		List<Point> blocks = new ArrayList<>();
+		LongOpenHashSet visited = new LongOpenHashSet();
+		
+		int lanes = DOUBLES.length();
+		int[] indices = new int[lanes];
+		int[] hitX = new int[lanes];
+		int[] hitY = new int[lanes];
+		int[] hitZ = new int[lanes];
+		
+		int bound = DOUBLES.loopBound(ExplosionRays.RAY_COUNT);
+		for (int first = 0; first < bound; first += lanes) {
+			DoubleVector laneStepX = DoubleVector.fromArray(DOUBLES, stepX, first);
+			DoubleVector laneStepY = DoubleVector.fromArray(DOUBLES, stepY, first);
+			DoubleVector laneStepZ = DoubleVector.fromArray(DOUBLES, stepZ, first);
+			DoubleVector x = DoubleVector.broadcast(DOUBLES, centerX);
+			DoubleVector y = DoubleVector.broadcast(DOUBLES, centerY);
+			DoubleVector z = DoubleVector.broadcast(DOUBLES, centerZ);
+			
+			FloatVector strengthLeft = FloatVector.fromArray(FLOATS, strengths, first);
+			VectorMask<Float> alive = strengthLeft.compare(VectorOperators.GT, 0.0F);
+			while (alive.anyTrue()) {
+				IntVector laneBlockX = floor(x);
+				IntVector laneBlockY = floor(y);
+				IntVector laneBlockZ = floor(z);
+				laneBlockX.sub(originX).mul(side)
+						.add(laneBlockY.sub(originY)).mul(side)
+						.add(laneBlockZ.sub(originZ))
+						.intoArray(indices, 0);
+				
+				// Air has no decay, so it does not change the strength and is never hit.
+				// Lanes of rays which have ended keep a strength of at most 0, so they do not need a mask
+				FloatVector decay = FloatVector.fromArray(FLOATS, decays, 0, indices, 0);
+				strengthLeft = strengthLeft.sub(decay);
+				VectorMask<Float> hit = decay.compare(VectorOperators.NE, 0.0F)
+						.and(strengthLeft.compare(VectorOperators.GT, 0.0F));
+				
+				if (hit.anyTrue()) {
+					laneBlockX.intoArray(hitX, 0);
+					laneBlockY.intoArray(hitY, 0);
+					laneBlockZ.intoArray(hitZ, 0);
+					for (int lane = 0; lane < lanes; lane++) {
+						if (hit.laneIsSet(lane) && visited.add(ExplosionRays.pack(hitX[lane], hitY[lane], hitZ[lane]))) {
+							blocks.add(new Vec(hitX[lane], hitY[lane], hitZ[lane]));
+						}
+					}
+				}
+				
+				strengthLeft = strengthLeft.sub(ExplosionRays.STEP_DECAY);
+				alive = strengthLeft.compare(VectorOperators.GT, 0.0F);
+				
+				x = x.add(laneStepX);
+				y = y.add(laneStepY);
+				z = z.add(laneStepZ);
+			}
+		}
+		
+		// Remaining rays which do not fill a vector
+		for (int ray = bound; ray < ExplosionRays.RAY_COUNT; ray++) {
+			double x = centerX;
+			double y = centerY;
+			double z = centerZ;
+			for (float strengthLeft = strengths[ray]; strengthLeft > 0.0F; strengthLeft -= ExplosionRays.STEP_DECAY) {
+				int blockX = (int) Math.floor(x);
+				int blockY = (int) Math.floor(y);
+				int blockZ = (int) Math.floor(z);
+				float decay = decays[((blockX - originX) * side + blockY - originY) * side + blockZ - originZ];
+				
+				if (decay != 0.0F) {
+					strengthLeft -= decay;
+					
+					if (strengthLeft > 0.0F && visited.add(ExplosionRays.pack(blockX, blockY, blockZ))) {
+						blocks.add(new Vec(blockX, blockY, blockZ));
+					}
+				}
+				
+				x += stepX[ray];
+				y += stepY[ray];
+				z += stepZ[ray];
+			}
+		}
+		
+		return blocks;
+	}
+	
+	/**
+	 * Copies the strength decrease of every block in a cube, indexed by {@code (x * side + y) * side + z}.
+	 */
+	private static float[] copyDecays(ExplosionBlockView view, int originX, int originY, int originZ, int side) {
+		float[] decays = new float[side * side * side];
+		int i = 0;
+		for (int x = 0; x < side; x++) {
+			for (int y = 0; y < side; y++) {
+				for (int z = 0; z < side; z++) {
+					decays[i++] = ExplosionRays.getResistanceDecay(view.getStateId(originX + x, originY + y, originZ + z));
+				}
+			}
+		}
+		return decays;
+	}
+	
+	/**
+	 * Floors every lane, equal to {@code (int) Math.floor(double)} for values within the range of an int.
+	 */
+	private static IntVector floor(DoubleVector vector) {
+		IntVector truncated = (IntVector) vector.convertShape(VectorOperators.D2I, INTS, 0);
+		DoubleVector back = (DoubleVector) truncated.convertShape(VectorOperators.I2D, DOUBLES, 0);
+		return truncated.sub(1, back.compare(VectorOperators.GT, vector).cast(INTS));
+	}
+}